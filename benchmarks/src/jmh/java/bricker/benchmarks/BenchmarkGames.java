@@ -0,0 +1,59 @@
+package bricker.benchmarks;
+
+import bricker.main.BrickerGameManager;
+import bricker.simulation.HeadlessSimulation;
+import danogl.util.Vector2;
+
+/**
+ * Builds the headless games the benchmarks run against.
+ * All games use the same window dimensions and seed, so every run measures the same levels.
+ */
+final class BenchmarkGames {
+
+    /**
+     * The seed of every benchmarked game.
+     */
+    static final long SEED = 20240601L;
+
+    private static final Vector2 WINDOW_DIMENSIONS = new Vector2(700, 500);
+    private static final String GRID_SEPARATOR = "x";
+
+    private BenchmarkGames() {
+    }
+
+    /**
+     * Creates a headless simulation for a grid given as "rows" + "x" + "columns".
+     *
+     * @param grid The grid dimensions, for example "7x8".
+     * @return The simulation, not started yet.
+     */
+    static HeadlessSimulation simulation(String grid) {
+        String[] dimensions = grid.split(GRID_SEPARATOR);
+        return new HeadlessSimulation(WINDOW_DIMENSIONS, Integer.parseInt(dimensions[0]),
+                Integer.parseInt(dimensions[1]), HeadlessSimulation.DEFAULT_TIME_STEP, SEED);
+    }
+
+    /**
+     * Creates and initializes a headless game for a grid given as "rows" + "x" + "columns".
+     *
+     * @param grid The grid dimensions, for example "7x8".
+     * @return The initialized game.
+     */
+    static BrickerGameManager game(String grid) {
+        return game(grid, false);
+    }
+
+    /**
+     * Creates and initializes a headless game for a grid given as "rows" + "x" + "columns".
+     *
+     * @param grid          The grid dimensions, for example "7x8".
+     * @param compactBricks Whether the game stores its bricks compactly.
+     * @return The initialized game.
+     */
+    static BrickerGameManager game(String grid, boolean compactBricks) {
+        HeadlessSimulation simulation = simulation(grid);
+        simulation.setCompactBricks(compactBricks);
+        simulation.startGame();
+        return simulation.getGame();
+    }
+}
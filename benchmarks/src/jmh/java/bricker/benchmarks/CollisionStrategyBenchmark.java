@@ -0,0 +1,76 @@
+package bricker.benchmarks;
+
+import bricker.brick_strategies.CollisionStrategy;
+import bricker.brick_strategies.EffectQueue;
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Brick;
+import bricker.main.BrickerGameManager;
+import danogl.util.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures CollisionStrategy.onCollision throughput per strategy type.
+ * Strategies only queue their effects, so every collision drains the game's effect queue to apply them, and
+ * the measured cost is that of queueing and applying the effects, as in the game. Strategies spawn objects
+ * into the game, so every iteration runs a fixed batch of 10,000 collisions against a fresh game instead
+ * of an open-ended loop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = 10_000)
+@Measurement(iterations = 10, batchSize = 10_000)
+@Fork(1)
+public class CollisionStrategyBenchmark {
+
+    private static final Vector2 BRICK_DIMENSIONS = new Vector2(80, 15);
+    private static final Vector2 BALL_DIMENSIONS = new Vector2(20, 20);
+
+    /**
+     * The strategy index passed to the factory, see StrategyFactoryBenchmark.
+     */
+    @Param({"0", "1", "2", "3", "4", "5"})
+    public int index;
+
+    private CollisionStrategy collisionStrategy;
+    private EffectQueue effectQueue;
+    private Brick brick;
+    private Ball ball;
+
+    /**
+     * Builds a fresh game, and the strategy, brick and ball colliding in it.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        BrickerGameManager game = BenchmarkGames.game("7x8");
+        collisionStrategy = game.getBricksController().getStrategyFactory().createStrategy(index);
+        effectQueue = game.getEffectQueue();
+        brick = new Brick(Vector2.ZERO, BRICK_DIMENSIONS, null, collisionStrategy, 0);
+        ball = new Ball(Vector2.ZERO, BALL_DIMENSIONS, null, null);
+    }
+
+    /**
+     * Handles a single collision of the ball with the brick, and applies the effects it queued.
+     * The brick is not part of the grid, so its removal leaves the game unchanged, and it is marked as not
+     * due for removal before every collision, so that every collision queues its removal again.
+     */
+    @Benchmark
+    public void onCollision() {
+        brick.setRemovalPending(false);
+        collisionStrategy.onCollision(brick, ball);
+        effectQueue.drain();
+    }
+}
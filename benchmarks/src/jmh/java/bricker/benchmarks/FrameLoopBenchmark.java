@@ -0,0 +1,56 @@
+package bricker.benchmarks;
+
+import bricker.simulation.HeadlessSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single headless BrickerGameManager.update tick, at object counts driven by the grid size.
+ * Games that end are restarted by the simulation, the restart is part of the measured loop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameLoopBenchmark {
+
+    /**
+     * The bricks grid, as rows x columns.
+     */
+    @Param({"7x8", "50x50", "200x200"})
+    public String grid;
+
+    private HeadlessSimulation simulation;
+
+    /**
+     * Starts the simulated game.
+     */
+    @Setup
+    public void setUp() {
+        simulation = BenchmarkGames.simulation(grid);
+        simulation.startGame();
+    }
+
+    /**
+     * Runs one fixed time step.
+     *
+     * @return Whether the game is still running, so the tick is not optimized away.
+     */
+    @Benchmark
+    public boolean tick() {
+        return simulation.step();
+    }
+}
@@ -0,0 +1,50 @@
+package bricker.benchmarks;
+
+import bricker.main.BrickerGameManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a level: initializing a headless game, which is dominated by the BricksController
+ * construction creating every brick and its collision strategy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LevelBuildBenchmark {
+
+    /**
+     * The bricks grid, as rows x columns.
+     */
+    @Param({"7x8", "50x50", "200x200", "1000x1000"})
+    public String grid;
+
+    /**
+     * Whether the bricks are stored compactly.
+     */
+    @Param({"false", "true"})
+    public boolean compactBricks;
+
+    /**
+     * Builds a complete level.
+     *
+     * @return The initialized game, so the build is not optimized away.
+     */
+    @Benchmark
+    public BrickerGameManager buildLevel() {
+        return BenchmarkGames.game(grid, compactBricks);
+    }
+}
@@ -0,0 +1,60 @@
+package bricker.benchmarks;
+
+import bricker.main.BrickerGameManager;
+
+/**
+ * Reports the build time and retained heap of a single level.
+ * Run it on two revisions to compare them, JMH measures time well but not the heap a level keeps alive.
+ */
+public final class LevelFootprint {
+
+    private static final String DEFAULT_GRID = "200x200";
+    private static final int WARMUP_BUILDS = 5;
+    private static final int MEASURED_BUILDS = 10;
+    private static final double NANOS_IN_MILLI = 1e6;
+    private static final double BYTES_IN_MEGABYTE = 1024 * 1024;
+
+    private LevelFootprint() {
+    }
+
+    /**
+     * Returns the heap in use after a full collection.
+     *
+     * @return The used heap, in bytes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Builds the level of the given grid (default 200x200) repeatedly, and prints the average build time
+     * and the heap retained by one built level.
+     *
+     * The bricks are stored compactly if the system property bricker.compactBricks is set.
+     *
+     * @param args Optional grid, as rows x columns.
+     */
+    public static void main(String[] args) {
+        String grid = args.length > 0 ? args[0] : DEFAULT_GRID;
+        boolean compactBricks = Boolean.getBoolean(BrickerGameManager.COMPACT_BRICKS_PROPERTY);
+        for (int i = 0; i < WARMUP_BUILDS; i++) {
+            BenchmarkGames.game(grid, compactBricks);
+        }
+        long totalNanos = 0;
+        for (int i = 0; i < MEASURED_BUILDS; i++) {
+            long start = System.nanoTime();
+            BenchmarkGames.game(grid, compactBricks);
+            totalNanos += System.nanoTime() - start;
+        }
+        long heapBefore = usedHeap();
+        BrickerGameManager game = BenchmarkGames.game(grid, compactBricks);
+        long retained = usedHeap() - heapBefore;
+        System.out.printf("%s: build %.2f ms, retained heap %.2f MB (%d bricks)%n", grid,
+                totalNanos / NANOS_IN_MILLI / MEASURED_BUILDS, retained / BYTES_IN_MEGABYTE,
+                game.getBricksController().getBrickCounter().value());
+    }
+}
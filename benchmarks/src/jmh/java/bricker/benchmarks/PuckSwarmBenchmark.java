@@ -0,0 +1,78 @@
+package bricker.benchmarks;
+
+import bricker.brick_strategies.puck_startegies.BasicRandomStrategy;
+import bricker.brick_strategies.puck_startegies.DirectionStrategy;
+import bricker.gameobjects.PuckSwarm;
+import bricker.simulation.HeadlessSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single headless BrickerGameManager.update tick with a puck swarm kept at a fixed number of
+ * pucks, topped up before every tick with pucks launched from random points below the bricks.
+ * A tick must stay below 16.7 ms for the swarm to run at 60 frames per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PuckSwarmBenchmark {
+
+    private static final String GRID = "50x50";
+    private static final float SPAWN_TOP = 250;
+    private static final float SPAWN_HEIGHT = 200;
+
+    /**
+     * The number of pucks in the swarm.
+     */
+    @Param({"1000", "10000"})
+    public int pucks;
+
+    private HeadlessSimulation simulation;
+    private SplittableRandom random;
+    private DirectionStrategy directionStrategy;
+
+    /**
+     * Starts the simulated game, with a compact grid and a swarm that can hold all the pucks.
+     */
+    @Setup
+    public void setUp() {
+        simulation = BenchmarkGames.simulation(GRID);
+        simulation.setCompactBricks(true);
+        simulation.setPuckSwarm(pucks);
+        simulation.startGame();
+        random = new SplittableRandom(BenchmarkGames.SEED);
+        directionStrategy = new BasicRandomStrategy(random);
+    }
+
+    /**
+     * Tops the swarm up and runs one fixed time step.
+     *
+     * @return Whether the game is still running, so the tick is not optimized away.
+     */
+    @Benchmark
+    public boolean tick() {
+        PuckSwarm puckSwarm = simulation.getGame().getPuckSwarm();
+        float width = simulation.getGame().getWindowDimensions().x();
+        while (puckSwarm.getCount() < pucks) {
+            puckSwarm.spawn((float) random.nextDouble() * width,
+                    SPAWN_TOP + (float) random.nextDouble() * SPAWN_HEIGHT,
+                    directionStrategy);
+        }
+        return simulation.step();
+    }
+}
@@ -0,0 +1,57 @@
+package bricker.benchmarks;
+
+import bricker.brick_strategies.CollisionStrategy;
+import bricker.brick_strategies.StrategyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures StrategyFactory.createStrategy for every strategy index.
+ * Index 4 is the double strategy, whose random composition may nest further double strategies up to
+ * the maximal number of strategies per brick; indexes from 5 up are the basic strategy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyFactoryBenchmark {
+
+    /**
+     * The strategy index passed to the factory.
+     */
+    @Param({"0", "1", "2", "3", "4", "5"})
+    public int index;
+
+    private StrategyFactory strategyFactory;
+
+    /**
+     * Takes the factory of a small headless game.
+     */
+    @Setup
+    public void setUp() {
+        strategyFactory = BenchmarkGames.game("7x8").getBricksController().getStrategyFactory();
+    }
+
+    /**
+     * Creates a single strategy.
+     *
+     * @return The created strategy, so the creation is not optimized away.
+     */
+    @Benchmark
+    public CollisionStrategy createStrategy() {
+        return strategyFactory.createStrategy(index);
+    }
+}
@@ -1,10 +1,11 @@
 package bricker.brick_strategies;
 
+import bricker.gameobjects.CollisionMatrix;
 import bricker.gameobjects.FallenHeart;
+import bricker.gameobjects.GameObjectPool;
+import bricker.gameobjects.GameObjectRegistry;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
-import danogl.gui.rendering.Renderable;
-import danogl.util.Counter;
 import danogl.util.Vector2;
 
 /**
@@ -12,47 +13,40 @@ import danogl.util.Vector2;
  * This strategy creates a fallen heart GameObject upon collision,
  * which increases the player's life count if collides with basic paddle.
  */
-public class AddLifeStrategy implements CollisionStrategy{
+public class AddLifeStrategy implements CollisionStrategy, BrickEffect, EffectHandler {
 
     private static final Vector2 HEART_VELOCITY = Vector2.DOWN.mult(100);
-    private final int heartSize;
-    private final Renderable heartImage;
-    private final Counter lifeCounter;
+    private final GameObjectPool<FallenHeart> heartPool;
     private final BasicCollisionStrategy basicCollisionStrategy;
-    private final String basePaddleTag;
-    private final String fallenHeartTag;
-    private final String fallenHeartToRemoveTag;
+    private final GameObjectRegistry registry;
+    private final int fallenHeartTagId;
     private final GameObjectCollection gameObjects;
+    private final EffectQueue effectQueue;
 
     /**
      * Constructs a new AddLifeStrategy instance.
      *
      * @param gameObjects           The collection of GameObjects in the game.
-     * @param heartSize             The size of the fallen heart GameObject.
-     * @param heartImage            A renderable representing the fallen heart.
-     * @param lifeCounter           The counter for the player's remaining lives.
+     * @param heartPool             The pool the fallen hearts are taken from.
      * @param basicCollisionStrategy The basic collision strategy for handling collisions.
-     * @param basePaddleTag         The tag for the base paddle GameObject.
+     * @param registry              The registry tracking the game's transient objects.
      * @param fallenHeartTag        The tag for the fallen heart GameObject.
-     * @param fallenHeartToRemoveTag A tag that indicates that the fallen heart game object
-     *                               should be removed.
+     * @param effectQueue           The queue the heart's dropping is deferred to.
      */
-    public AddLifeStrategy(GameObjectCollection gameObjects, int heartSize, Renderable heartImage,
-                           Counter lifeCounter, BasicCollisionStrategy basicCollisionStrategy,
-                           String basePaddleTag, String fallenHeartTag, String fallenHeartToRemoveTag) {
+    public AddLifeStrategy(GameObjectCollection gameObjects, GameObjectPool<FallenHeart> heartPool,
+                           BasicCollisionStrategy basicCollisionStrategy, GameObjectRegistry registry,
+                           String fallenHeartTag, EffectQueue effectQueue) {
         this.gameObjects = gameObjects;
-        this.heartSize = heartSize;
-        this.heartImage = heartImage;
-        this.lifeCounter = lifeCounter;
+        this.heartPool = heartPool;
         this.basicCollisionStrategy = basicCollisionStrategy;
-        this.basePaddleTag = basePaddleTag;
-        this.fallenHeartTag = fallenHeartTag;
-        this.fallenHeartToRemoveTag = fallenHeartToRemoveTag;
+        this.registry = registry;
+        this.fallenHeartTagId = registry.tagId(fallenHeartTag);
+        this.effectQueue = effectQueue;
     }
 
     /**
      * Handles collision of Add life strategy.
-     * Upon collision, creates a fallen heart GameObject.
+     * Upon collision, queues the dropping of a fallen heart GameObject from the brick's center.
      *
      * @param firstObj  The first GameObject involved in the collision - a brick.
      * @param secondObj The second GameObject involved in the collision.
@@ -60,11 +54,34 @@ public class AddLifeStrategy implements CollisionStrategy{
     @Override
     public void onCollision(GameObject firstObj, GameObject secondObj) {
         basicCollisionStrategy.onCollision(firstObj, secondObj);
-        GameObject heart = new FallenHeart(firstObj.getCenter(), new Vector2(heartSize, heartSize),
-                this.heartImage, lifeCounter, basePaddleTag, fallenHeartToRemoveTag);
-        heart.setTag(fallenHeartTag);
-        heart.setVelocity(HEART_VELOCITY);
-        gameObjects.addGameObject(heart);
+        triggerEffect(firstObj, secondObj);
+    }
+
+    /**
+     * Queues the dropping of a fallen heart GameObject from the brick's center.
+     *
+     * @param brick The hit brick.
+     * @param other The GameObject that hit the brick.
+     */
+    @Override
+    public void triggerEffect(GameObject brick, GameObject other) {
+        effectQueue.enqueue(EffectQueue.Kind.SPAWN_HEART, this, brick, brick.getCenter());
+    }
+
+    /**
+     * Creates a fallen heart GameObject.
+     *
+     * @param kind   The kind of the effect, always dropping a heart.
+     * @param target The hit brick.
+     * @param x      The x coordinate of the brick's center.
+     * @param y      The y coordinate of the brick's center.
+     */
+    @Override
+    public void applyEffect(EffectQueue.Kind kind, GameObject target, float x, float y) {
+        FallenHeart heart = heartPool.acquire();
+        heart.launch(new Vector2(x, y), HEART_VELOCITY);
+        registry.register(heart, fallenHeartTagId);
+        gameObjects.addGameObject(heart, CollisionMatrix.Kind.HEART.getLayer());
     }
 
 }
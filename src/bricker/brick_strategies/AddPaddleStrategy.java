@@ -1,5 +1,8 @@
 package bricker.brick_strategies;
 
+import bricker.gameobjects.CollisionMatrix;
+import bricker.gameobjects.Despawner;
+import bricker.gameobjects.GameObjectRegistry;
 import bricker.gameobjects.SpecialPaddle;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
@@ -13,7 +16,7 @@ import danogl.util.Vector2;
  * This strategy creates a special paddle GameObject upon collision,
  * maximum one extra paddle at time.
  */
-public class AddPaddleStrategy  implements CollisionStrategy{
+public class AddPaddleStrategy  implements CollisionStrategy, BrickEffect, EffectHandler {
 
     /**
      * The maximum number of paddles allowed in the game.
@@ -71,9 +74,24 @@ public class AddPaddleStrategy  implements CollisionStrategy{
     private final BasicCollisionStrategy basicCollisionStrategy;
 
     /**
-     * The tag for removing the special paddle GameObject.
+     * The registry tracking the game's transient objects.
      */
-    private final String specialPaddleToRemove;
+    private final GameObjectRegistry registry;
+
+    /**
+     * The id of the tag for an active special paddle GameObject.
+     */
+    private final int specialPaddleTagId;
+
+    /**
+     * The despawner removing the special paddle GameObject when it runs out of collisions.
+     */
+    private final Despawner despawner;
+
+    /**
+     * The queue the paddle's adding is deferred to.
+     */
+    private final EffectQueue effectQueue;
 
     /**
      * Constructs a new AddPaddleStrategy instance.
@@ -87,12 +105,16 @@ public class AddPaddleStrategy  implements CollisionStrategy{
      * @param paddleCounter          The counter for the number of paddles. Maximum 2 at a time.
      * @param wallWidth              The width of the game wall.
      * @param basicCollisionStrategy The basic collision strategy for handling collisions.
-     * @param specialPaddleToRemove  The tag for removing the special paddle GameObject.
+     * @param registry               The registry tracking the game's transient objects.
+     * @param specialPaddleTag       The tag for an active special paddle GameObject.
+     * @param despawner              The despawner removing the special paddle GameObject.
+     * @param effectQueue            The queue the paddle's adding is deferred to.
      */
     public AddPaddleStrategy(GameObjectCollection gameObjects, Renderable paddleImage,
                              int paddleWidth, int paddleHeight, UserInputListener inputListener,
                              Vector2 windowDimensions, Counter paddleCounter, float wallWidth,
-                             BasicCollisionStrategy basicCollisionStrategy, String specialPaddleToRemove) {
+                             BasicCollisionStrategy basicCollisionStrategy, GameObjectRegistry registry,
+                             String specialPaddleTag, Despawner despawner, EffectQueue effectQueue) {
         this.gameObjects = gameObjects;
         this.paddleImage = paddleImage;
         this.paddleWidth = paddleWidth;
@@ -102,13 +124,15 @@ public class AddPaddleStrategy  implements CollisionStrategy{
         this.paddleCounter = paddleCounter;
         this.wallWidth = wallWidth;
         this.basicCollisionStrategy = basicCollisionStrategy;
-        this.specialPaddleToRemove = specialPaddleToRemove;
+        this.registry = registry;
+        this.specialPaddleTagId = registry.tagId(specialPaddleTag);
+        this.despawner = despawner;
+        this.effectQueue = effectQueue;
     }
 
     /**
      * Handles collision for add paddle strategy case.
-     * Upon collision, creates a special paddle GameObject if the maximum number
-     * of paddles has not been reached.
+     * Upon collision, queues the adding of a special paddle GameObject.
      *
      * @param firstObj  The first GameObject involved in the collision - a brick.
      * @param secondObj The second GameObject involved in the collision.
@@ -116,14 +140,41 @@ public class AddPaddleStrategy  implements CollisionStrategy{
     @Override
     public void onCollision(GameObject firstObj, GameObject secondObj) {
         basicCollisionStrategy.onCollision(firstObj, secondObj);
+        triggerEffect(firstObj, secondObj);
+    }
+
+    /**
+     * Queues the adding of a special paddle GameObject.
+     *
+     * @param brick The hit brick.
+     * @param other The GameObject that hit the brick.
+     */
+    @Override
+    public void triggerEffect(GameObject brick, GameObject other) {
+        effectQueue.enqueue(EffectQueue.Kind.SPAWN_PADDLE, this, brick, brick.getCenter());
+    }
+
+    /**
+     * Creates a special paddle GameObject if the maximum number of paddles has not been reached.
+     * The number of paddles is checked when the effect is applied, so bricks hit in the same step
+     * add at most the missing paddles.
+     *
+     * @param kind   The kind of the effect, always adding a paddle.
+     * @param target The hit brick.
+     * @param x      The x coordinate of the brick's center.
+     * @param y      The y coordinate of the brick's center.
+     */
+    @Override
+    public void applyEffect(EffectQueue.Kind kind, GameObject target, float x, float y) {
         if (paddleCounter.value() < MAX_PADDLE_AMOUNT) {
             GameObject secondPaddle = new SpecialPaddle(Vector2.ZERO, new Vector2(paddleWidth,
                     this.paddleHeight),
-                    paddleImage, inputListener, windowDimensions, wallWidth, specialPaddleToRemove);
+                    paddleImage, inputListener, windowDimensions, wallWidth, specialPaddleTagId, despawner);
             secondPaddle.setCenter(new Vector2(windowDimensions.x() * SCALE_PADDLE_POSITION,
                     windowDimensions.y() * SCALE_PADDLE_POSITION));
             paddleCounter.increment();
-            gameObjects.addGameObject(secondPaddle);
+            registry.register(secondPaddle, specialPaddleTagId);
+            gameObjects.addGameObject(secondPaddle, CollisionMatrix.Kind.PADDLE.getLayer());
         }
     }
 
@@ -1,56 +1,62 @@
 package bricker.brick_strategies;
 
+import bricker.gameobjects.CollisionMatrix;
+import bricker.gameobjects.GameObjectPool;
+import bricker.gameobjects.GameObjectRegistry;
 import bricker.gameobjects.Puck;
+import bricker.gameobjects.PuckSwarm;
 import bricker.brick_strategies.puck_startegies.DirectionStrategy;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
-import danogl.gui.Sound;
-import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
 /**
  * Represents a collision strategy for adding pucks.
  * This strategy creates two puck GameObjects upon collision,
  * each with a specified initial direction strategy.
+ * With a puck swarm, the pucks are added to the swarm instead of being taken from the pool.
  */
-public class AddPucksStrategy implements CollisionStrategy {
+public class AddPucksStrategy implements CollisionStrategy, BrickEffect, EffectHandler {
 
-    private static final float SCALE_BALL_SIZE = 0.75F;
-    private  final Renderable puckImage;
-    private final Sound collisionSound;
-    private final int ballSize;
+    private final GameObjectPool<Puck> puckPool;
     private final GameObjectCollection gameObjects;
     private final DirectionStrategy[] puckStrategies;
     private final BasicCollisionStrategy basicCollisionStrategy;
-    private final String puckTag;
+    private final GameObjectRegistry registry;
+    private final int puckTagId;
+    private final EffectQueue effectQueue;
+    private final PuckSwarm puckSwarm;
 
     /**
      * Constructs a new AddPucksStrategy instance.
      *
-     * @param puckImage             The renderable representing the puck.
-     * @param collisionSound        The sound played upon collision.
-     * @param ballSize              Size of the puck.
+     * @param puckPool              The pool the pucks are taken from.
      * @param gameObjects           The collection of GameObjects in the game.
      * @param puckStrategies        The array of direction strategies for initial movement direction of puck.
      * @param basicCollisionStrategy The basic collision strategy for handling collisions.
+     * @param registry              The registry tracking the game's transient objects.
      * @param puckTag               The tag for identifying the pucks.
+     * @param effectQueue           The queue the pucks' spawning is deferred to.
+     * @param puckSwarm             The swarm the pucks are added to, or null to take them from the pool.
      */
-    public AddPucksStrategy(Renderable puckImage, Sound collisionSound, int ballSize,
-                            GameObjectCollection gameObjects, DirectionStrategy[] puckStrategies,
-                            BasicCollisionStrategy basicCollisionStrategy, String puckTag) {
-        this.puckImage = puckImage;
-        this.collisionSound = collisionSound;
-        this.ballSize = ballSize;
+    public AddPucksStrategy(GameObjectPool<Puck> puckPool, GameObjectCollection gameObjects,
+                            DirectionStrategy[] puckStrategies, BasicCollisionStrategy basicCollisionStrategy,
+                            GameObjectRegistry registry, String puckTag, EffectQueue effectQueue,
+                            PuckSwarm puckSwarm) {
+        this.puckPool = puckPool;
         this.gameObjects = gameObjects;
         this.puckStrategies = puckStrategies;
         this.basicCollisionStrategy = basicCollisionStrategy;
-        this.puckTag = puckTag;
+        this.registry = registry;
+        this.puckTagId = registry.tagId(puckTag);
+        this.effectQueue = effectQueue;
+        this.puckSwarm = puckSwarm;
     }
 
 
     /**
      * Handles collision of add puck strategy.
-     * Upon collision, creates two puck GameObjects with specified direction strategies.
+     * Upon collision, queues the spawning of two puck GameObjects at the brick's center.
      *
      * @param firstObj  The first GameObject involved in the collision - a brick.
      * @param secondObj The second GameObject involved in the collision.
@@ -58,16 +64,43 @@ public class AddPucksStrategy implements CollisionStrategy {
     @Override
     public void onCollision(GameObject firstObj, GameObject secondObj) {
         basicCollisionStrategy.onCollision(firstObj, secondObj);
-        Vector2 brickLocation = firstObj.getCenter();
-        GameObject firstPuck = new Puck(brickLocation, new Vector2(ballSize * SCALE_BALL_SIZE,
-                ballSize * SCALE_BALL_SIZE), this.puckImage, this.collisionSound, puckStrategies[0]);
-        GameObject secondPuck = new Puck(brickLocation, new Vector2(ballSize * SCALE_BALL_SIZE,
-                ballSize * SCALE_BALL_SIZE), this.puckImage, this.collisionSound, puckStrategies[1]);
-        firstPuck.setTag(puckTag);
-        firstPuck.setTag(puckTag);
-        gameObjects.addGameObject(firstPuck);
-        gameObjects.addGameObject(secondPuck);
+        triggerEffect(firstObj, secondObj);
     }
 
-}
+    /**
+     * Queues the spawning of two puck GameObjects at the brick's center.
+     *
+     * @param brick The hit brick.
+     * @param other The GameObject that hit the brick.
+     */
+    @Override
+    public void triggerEffect(GameObject brick, GameObject other) {
+        effectQueue.enqueue(EffectQueue.Kind.SPAWN_PUCKS, this, brick, brick.getCenter());
+    }
 
+    /**
+     * Creates two puck GameObjects with specified direction strategies, or adds two pucks to the swarm.
+     *
+     * @param kind   The kind of the effect, always spawning pucks.
+     * @param target The hit brick.
+     * @param x      The x coordinate of the brick's center.
+     * @param y      The y coordinate of the brick's center.
+     */
+    @Override
+    public void applyEffect(EffectQueue.Kind kind, GameObject target, float x, float y) {
+        if (puckSwarm != null) {
+            for (DirectionStrategy puckStrategy : puckStrategies) {
+                puckSwarm.spawn(x, y, puckStrategy);
+            }
+            return;
+        }
+        Vector2 brickLocation = new Vector2(x, y);
+        for (DirectionStrategy puckStrategy : puckStrategies) {
+            Puck puck = puckPool.acquire();
+            puck.launch(brickLocation, puckStrategy);
+            registry.register(puck, puckTagId);
+            gameObjects.addGameObject(puck, CollisionMatrix.Kind.PUCK.getLayer());
+        }
+    }
+
+}
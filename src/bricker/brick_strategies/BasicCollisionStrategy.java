@@ -1,48 +1,56 @@
 package bricker.brick_strategies;
 
+import bricker.gameobjects.Brick;
 import bricker.gameobjects.BricksController;
 import danogl.GameObject;
-import danogl.collisions.GameObjectCollection;
 
 
 /**
  * A basic collision strategy, handling basic behavior when collision with Brick happens.
  *
  */
-public class BasicCollisionStrategy implements CollisionStrategy{
+public class BasicCollisionStrategy implements CollisionStrategy, EffectHandler {
 
     private final BricksController bricksController;
-    private final int bricksLayer;
-    private final GameObjectCollection gameObjects;
+    private final EffectQueue effectQueue;
 
     /**
      * Constructs a BasicCollisionStrategy instance.
      *
-     * @param gameObjects     The collection of GameObjects.
      * @param bricksController The BricksController instance managing the bricks.
-     * @param bricksLayer     The layer where bricks are placed.
+     * @param effectQueue      The queue the brick's removal is deferred to.
      */
-    public BasicCollisionStrategy(GameObjectCollection gameObjects, BricksController bricksController,
-                                  int bricksLayer){
-        this.gameObjects = gameObjects;
+    public BasicCollisionStrategy(BricksController bricksController, EffectQueue effectQueue){
         this.bricksController = bricksController;
-        this.bricksLayer = bricksLayer;
+        this.effectQueue = effectQueue;
     }
 
     /**
      * Basic behavior of Handling a collision with a brick.
-     * Remove brick from game and decrease the counter for number of bricks in game.
+     * Queues the brick's removal, which removes it from the game and decreases the counter for number of
+     * bricks in game once the queue is drained.
      *
      * @param firstObj  The first GameObject involved in the collision - a brick.
      * @param secondObj The second GameObject involved in the collision.
      */
     @Override
     public void onCollision(GameObject firstObj, GameObject secondObj) {
-        if(gameObjects.removeGameObject(firstObj, bricksLayer)){
-            bricksController.getBrickCounter().decrement();
+        if (firstObj instanceof Brick) {
+            effectQueue.removeBrick((Brick) firstObj, this);
         }
     }
 
-
+    /**
+     * Removes a hit brick from the game.
+     *
+     * @param kind   The kind of the effect, always a brick removal.
+     * @param target The brick to remove.
+     * @param x      The x coordinate of the brick's center.
+     * @param y      The y coordinate of the brick's center.
+     */
+    @Override
+    public void applyEffect(EffectQueue.Kind kind, GameObject target, float x, float y) {
+        bricksController.removeBrick((Brick) target);
+    }
 
 }
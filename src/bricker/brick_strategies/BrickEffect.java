@@ -0,0 +1,19 @@
+package bricker.brick_strategies;
+
+import danogl.GameObject;
+
+/**
+ * The special effect of a collision strategy, triggered on top of removing the hit brick.
+ * Separating the effect from the removal lets a DoubleStrategy run the effects of all its strategies after
+ * a single removal of the brick.
+ */
+public interface BrickEffect {
+
+    /**
+     * Triggers the effect of a hit, without removing the brick.
+     *
+     * @param brick The hit brick.
+     * @param other The GameObject that hit the brick.
+     */
+    void triggerEffect(GameObject brick, GameObject other);
+}
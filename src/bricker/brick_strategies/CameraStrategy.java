@@ -1,5 +1,6 @@
 package bricker.brick_strategies;
 
+import bricker.gameobjects.GameObjectRegistry;
 import bricker.main.BrickerGameManager;
 import danogl.GameManager;
 import danogl.GameObject;
@@ -10,8 +11,9 @@ import danogl.util.Vector2;
  * Represents a collision strategy that manage the game camera.
  * This strategy sets up the game camera to follow the ball.
  * happens only when a collision involves the main ball occurs.
+ * A single camera is created on first use, and re-targeted at the ball every time it is set again.
  */
-public class CameraStrategy implements CollisionStrategy {
+public class CameraStrategy implements CollisionStrategy, BrickEffect, EffectHandler {
     /**
      * The scale factor for positioning the camera.
      */
@@ -33,10 +35,24 @@ public class CameraStrategy implements CollisionStrategy {
     private final BasicCollisionStrategy basicCollisionStrategy;
 
     /**
-     * The tag for identifying the main ball GameObject.
+     * The registry tracking the main ball.
      */
-    private final String mainBallTag;
+    private final GameObjectRegistry registry;
 
+    /**
+     * The id of the tag identifying the main ball GameObject.
+     */
+    private final int mainBallTagId;
+
+    /**
+     * The queue the camera's setting is deferred to.
+     */
+    private final EffectQueue effectQueue;
+
+    /**
+     * The camera following the ball, created on first use and reused afterwards.
+     */
+    private Camera camera;
 
 
     /**
@@ -45,21 +61,26 @@ public class CameraStrategy implements CollisionStrategy {
      * @param brickerGameManager     The BrickerGameManager instance managing the game.
      * @param windowDimensions       The window dimensions passed as a vector.
      * @param basicCollisionStrategy The basic collision strategy for handling collisions.
+     * @param registry               The registry tracking the main ball.
      * @param mainBallTag            The tag identifying the main ball GameObject.
+     * @param effectQueue            The queue the camera's setting is deferred to.
      */
     public CameraStrategy(BrickerGameManager brickerGameManager, Vector2 windowDimensions,
-                          BasicCollisionStrategy basicCollisionStrategy, String mainBallTag) {
+                          BasicCollisionStrategy basicCollisionStrategy, GameObjectRegistry registry,
+                          String mainBallTag, EffectQueue effectQueue) {
         this.gameManager = brickerGameManager;
         this.windowDimensions = windowDimensions;
         this.basicCollisionStrategy = basicCollisionStrategy;
-        this.mainBallTag = mainBallTag;
+        this.registry = registry;
+        this.mainBallTagId = registry.tagId(mainBallTag);
+        this.effectQueue = effectQueue;
     }
 
 
     /**
      * Handles collision in case of camera strategy.
-     * Executes the basic collision strategy and sets up the game camera to follow the ball, only if the
-     *  collision involves the main ball.
+     * Executes the basic collision strategy and queues setting up the game camera to follow the ball, only
+     *  if the collision involves the main ball.
      *
      * @param firstObj  The first GameObject involved in the collision - a brick.
      * @param secondObj The second GameObject involved in the collision.
@@ -67,11 +88,43 @@ public class CameraStrategy implements CollisionStrategy {
     @Override
     public void onCollision(GameObject firstObj, GameObject secondObj) {
         basicCollisionStrategy.onCollision(firstObj, secondObj);
-        if ((secondObj.getTag().equals(mainBallTag)) && (gameManager.camera() == null)) {
-            gameManager.setCamera(new Camera(secondObj, Vector2.ZERO,
-                    windowDimensions.mult(CAMERA_POSITION_SCALE),
-                    windowDimensions));
+        triggerEffect(firstObj, secondObj);
+    }
+
+    /**
+     * Queues setting up the game camera to follow the ball, only if the brick was hit by the main ball.
+     *
+     * @param brick The hit brick.
+     * @param other The GameObject that hit the brick.
+     */
+    @Override
+    public void triggerEffect(GameObject brick, GameObject other) {
+        if (registry.hasTag(other, mainBallTagId)) {
+            effectQueue.enqueue(EffectQueue.Kind.ENABLE_CAMERA, this, other, other.getCenter());
+        }
+    }
+
+    /**
+     * Sets up the game camera to follow the ball, unless a camera is already set. The camera is created
+     * the first time, and re-targeted at the ball afterwards.
+     *
+     * @param kind   The kind of the effect, always enabling the camera.
+     * @param target The main ball to follow.
+     * @param x      The x coordinate of the ball's center.
+     * @param y      The y coordinate of the ball's center.
+     */
+    @Override
+    public void applyEffect(EffectQueue.Kind kind, GameObject target, float x, float y) {
+        if (gameManager.camera() != null) {
+            return;
+        }
+        if (camera == null) {
+            camera = new Camera(target, Vector2.ZERO, windowDimensions.mult(CAMERA_POSITION_SCALE),
+                    windowDimensions);
+        } else {
+            camera.setToFollow(target, Vector2.ZERO);
         }
+        gameManager.setCamera(camera);
     }
 
 }
\ No newline at end of file
@@ -4,27 +4,27 @@ import danogl.GameObject;
 
 /**
  * Represents a collision strategy for applying multiple collision strategies simultaneously.
+ * The strategies are compiled, when the level is built, into a flat array of their effects, so a hit
+ * removes the brick once and then triggers every effect in a single pass.
  */
 public class DoubleStrategy implements CollisionStrategy{
-    private final CollisionStrategy[] collisionStrategies;
+    private final BrickEffect[] effects;
     private final BasicCollisionStrategy basicCollisionStrategy;
 
     /**
      * Constructs a new DoubleStrategy instance.
      *
-     * @param collisionStrategies     The array of collision strategies to be executed.
+     * @param effects                 The compiled effects of the combined strategies, in order.
      * @param basicCollisionStrategy  The basic collision strategy for handling collisions.
      */
-    public DoubleStrategy(CollisionStrategy[] collisionStrategies, BasicCollisionStrategy
-            basicCollisionStrategy) {
-        this.collisionStrategies = collisionStrategies;
+    public DoubleStrategy(BrickEffect[] effects, BasicCollisionStrategy basicCollisionStrategy) {
+        this.effects = effects;
         this.basicCollisionStrategy = basicCollisionStrategy;
     }
 
     /**
      * Handles collision for double strategy case.
-     * Executes the basic collision strategy and then delegates collision handling to each specified
-     * strategy.
+     * Executes the basic collision strategy once and then triggers the effect of each combined strategy.
      *
      * @param firstObj  The first GameObject involved in the collision - a brick.
      * @param secondObj The second GameObject involved in the collision.
@@ -32,8 +32,8 @@ public class DoubleStrategy implements CollisionStrategy{
     @Override
     public void onCollision(GameObject firstObj, GameObject secondObj) {
         basicCollisionStrategy.onCollision(firstObj, secondObj);
-        for (CollisionStrategy collisionStrategy: collisionStrategies){
-            collisionStrategy.onCollision(firstObj, secondObj);
+        for (BrickEffect effect : effects) {
+            effect.triggerEffect(firstObj, secondObj);
         }
     }
 
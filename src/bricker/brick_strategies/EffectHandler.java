@@ -0,0 +1,19 @@
+package bricker.brick_strategies;
+
+import danogl.GameObject;
+
+/**
+ * Applies the effects a collision strategy deferred to an EffectQueue.
+ */
+public interface EffectHandler {
+
+    /**
+     * Applies a deferred effect.
+     *
+     * @param kind   The kind of the effect.
+     * @param target The object the effect applies to, such as the removed brick or the ball to follow.
+     * @param x      The x coordinate the effect takes place at, such as the center of the hit brick.
+     * @param y      The y coordinate the effect takes place at.
+     */
+    void applyEffect(EffectQueue.Kind kind, GameObject target, float x, float y);
+}
@@ -0,0 +1,152 @@
+package bricker.brick_strategies;
+
+import bricker.gameobjects.Brick;
+import bricker.util.FrameProfiler;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.Arrays;
+
+/**
+ * A queue of the effects of brick collisions, applied in one batch after the engine's collision pass.
+ * Collision strategies do not change the game while the engine is still resolving collisions, they only
+ * record what should happen: a kind, the handler applying it, a target object and a position, stored in
+ * preallocated parallel arrays. A brick's removal is queued only once, since a brick whose removal is due
+ * ignores further hits until the queue is drained, and the applied effects are counted by kind.
+ * Since the strategies' work happens when their effects are applied, that is where a profiler measures the
+ * strategies: the duration of every applied effect is recorded in the histogram of its handler's class.
+ */
+public class EffectQueue {
+
+    /**
+     * The kinds of effects.
+     */
+    public enum Kind {
+        /**
+         * Removing a hit brick.
+         */
+        REMOVE_BRICK,
+        /**
+         * Spawning pucks at a hit brick.
+         */
+        SPAWN_PUCKS,
+        /**
+         * Dropping a heart from a hit brick.
+         */
+        SPAWN_HEART,
+        /**
+         * Adding a special paddle.
+         */
+        SPAWN_PADDLE,
+        /**
+         * Making the camera follow the ball.
+         */
+        ENABLE_CAMERA
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    private byte[] kinds;
+    private EffectHandler[] handlers;
+    private GameObject[] targets;
+    private float[] xs;
+    private float[] ys;
+    private int size;
+    private final long[] appliedCounts;
+    private FrameProfiler frameProfiler;
+
+    /**
+     * Constructs a new EffectQueue instance.
+     *
+     * @param capacity The number of effects the queue holds before growing.
+     */
+    public EffectQueue(int capacity) {
+        this.kinds = new byte[capacity];
+        this.handlers = new EffectHandler[capacity];
+        this.targets = new GameObject[capacity];
+        this.xs = new float[capacity];
+        this.ys = new float[capacity];
+        this.appliedCounts = new long[KINDS.length];
+        this.frameProfiler = new FrameProfiler(false);
+    }
+
+    /**
+     * Sets the profiler measuring how long every strategy takes to apply its effects.
+     *
+     * @param frameProfiler The profiler, measuring only when enabled.
+     */
+    public void setFrameProfiler(FrameProfiler frameProfiler) {
+        this.frameProfiler = frameProfiler;
+    }
+
+    /**
+     * Defers an effect to the next drain.
+     *
+     * @param kind     The kind of the effect.
+     * @param handler  The handler applying the effect.
+     * @param target   The object the effect applies to.
+     * @param position The position the effect takes place at.
+     */
+    public void enqueue(Kind kind, EffectHandler handler, GameObject target, Vector2 position) {
+        if (size == kinds.length) {
+            int capacity = kinds.length * 2 + 1;
+            kinds = Arrays.copyOf(kinds, capacity);
+            handlers = Arrays.copyOf(handlers, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+        kinds[size] = (byte) kind.ordinal();
+        handlers[size] = handler;
+        targets[size] = target;
+        xs[size] = position.x();
+        ys[size] = position.y();
+        size++;
+    }
+
+    /**
+     * Defers the removal of a brick, unless its removal is already due.
+     *
+     * @param brick   The brick to remove.
+     * @param handler The handler removing the brick.
+     */
+    public void removeBrick(Brick brick, EffectHandler handler) {
+        if (brick.isRemovalPending()) {
+            return;
+        }
+        brick.setRemovalPending(true);
+        enqueue(Kind.REMOVE_BRICK, handler, brick, brick.getCenter());
+    }
+
+    /**
+     * Applies every queued effect, in the order they were queued, and empties the queue.
+     * When profiling is enabled, every effect's duration is recorded in the histogram of its handler's class.
+     */
+    public void drain() {
+        boolean profiled = frameProfiler.isEnabled();
+        for (int i = 0; i < size; i++) {
+            Kind kind = KINDS[kinds[i]];
+            if (profiled) {
+                long start = System.nanoTime();
+                handlers[i].applyEffect(kind, targets[i], xs[i], ys[i]);
+                frameProfiler.strategyHistogram(handlers[i].getClass()).record(System.nanoTime() - start);
+            } else {
+                handlers[i].applyEffect(kind, targets[i], xs[i], ys[i]);
+            }
+            appliedCounts[kind.ordinal()]++;
+            handlers[i] = null;
+            targets[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the number of applied effects of a kind.
+     *
+     * @param kind The kind of the effects.
+     * @return The number of applied effects.
+     */
+    public long getAppliedCount(Kind kind) {
+        return appliedCounts[kind.ordinal()];
+    }
+}
@@ -1,7 +1,15 @@
 package bricker.brick_strategies;
 
 import bricker.gameobjects.BricksController;
+import bricker.gameobjects.Despawner;
+import bricker.gameobjects.FallenHeart;
+import bricker.gameobjects.GameObjectPool;
+import bricker.gameobjects.GameObjectRegistry;
+import bricker.gameobjects.Puck;
+import bricker.gameobjects.PuckSwarm;
 import bricker.main.BrickerGameManager;
+import bricker.util.FrameProfiler;
+import bricker.util.GameRandom;
 import danogl.collisions.GameObjectCollection;
 import danogl.gui.*;
 import danogl.gui.rendering.Renderable;
@@ -15,7 +23,7 @@ import danogl.util.Vector2;
 public class StrategiesManager {
 
     private final Renderable ballImage;
-    private final String specialPaddleToRemoveTag;
+    private final String specialPaddleTag;
     private final Renderable heartImage;
     private final Renderable paddleImage;
     private final Renderable puckImage;
@@ -30,11 +38,18 @@ public class StrategiesManager {
     private final int heartSize;
     private final Counter lifeCounter;
     private final GameObjectCollection gameObjects;
+    private final GameObjectRegistry registry;
+    private final GameObjectPool<Puck> puckPool;
+    private final GameObjectPool<FallenHeart> heartPool;
+    private final GameRandom random;
+    private final FrameProfiler frameProfiler;
+    private final EffectQueue effectQueue;
+    private final Despawner despawner;
+    private final PuckSwarm puckSwarm;
     private final BrickerGameManager brickerGameManager;
     private final String mainBallTag;
     private String basePaddleTag;
     private final String fallenHeartTag;
-    private final String fallenHeartToRemoveTag;
     private final String puckTag;
 
     /**
@@ -55,12 +70,20 @@ public class StrategiesManager {
      * @param heartSize               The size of the heart.
      * @param lifeCounter             The counter for the number of lives.
      * @param gameObjects             The collection of GameObjects in the game.
+     * @param registry                The registry tracking the game's transient objects.
+     * @param puckPool                The pool the pucks are taken from.
+     * @param heartPool               The pool the fallen hearts are taken from.
+     * @param random                  The random source of the game.
+     * @param frameProfiler           The profiler measuring the game's frames.
+     * @param effectQueue             The queue the strategies defer their effects to.
+     * @param despawner               The despawner removing transient objects from the game.
+     * @param puckSwarm               The swarm the pucks are spawned into, or null to spawn pucks from the
+     *                                puck pool.
      * @param brickerGameManager      The game manager for the Bricker game.
      * @param mainBallTag             The tag for the main ball GameObject.
      * @param basePaddleTag           The tag for the base paddle GameObject.
      * @param fallenHeartTag          The tag for the fallen heart GameObject.
-     * @param fallenHeartToRemoveTag  The tag for removing the fallen heart GameObject.
-     * @param specialPaddleToRemoveTag The tag for removing the special paddle GameObject.
+     * @param specialPaddleTag        The tag for an active special paddle GameObject.
      * @param puckTag                 The tag for the puck GameObject.
      */
     public StrategiesManager(Renderable ballImage, Renderable heartImage, Renderable paddleImage,
@@ -68,10 +91,13 @@ public class StrategiesManager {
                              int paddleHeight, int wallWidth, UserInputListener inputListener,
                              Vector2 windowDimensions, Counter paddleCounter, int heartSize,
                              Counter lifeCounter, GameObjectCollection gameObjects,
-                             BrickerGameManager brickerGameManager, String mainBallTag,
-                             String basePaddleTag, String fallenHeartTag, String fallenHeartToRemoveTag,
-                             String specialPaddleToRemoveTag, String puckTag) {
-        this.specialPaddleToRemoveTag = specialPaddleToRemoveTag;
+                             GameObjectRegistry registry, GameObjectPool<Puck> puckPool,
+                             GameObjectPool<FallenHeart> heartPool, GameRandom random,
+                             FrameProfiler frameProfiler, EffectQueue effectQueue, Despawner despawner,
+                             PuckSwarm puckSwarm, BrickerGameManager brickerGameManager,
+                             String mainBallTag, String basePaddleTag, String fallenHeartTag,
+                             String specialPaddleTag, String puckTag) {
+        this.specialPaddleTag = specialPaddleTag;
         this.ballImage = ballImage;
         this.heartImage = heartImage;
         this.paddleImage = paddleImage;
@@ -87,11 +113,18 @@ public class StrategiesManager {
         this.heartSize = heartSize;
         this.lifeCounter = lifeCounter;
         this.gameObjects = gameObjects;
+        this.registry = registry;
+        this.puckPool = puckPool;
+        this.heartPool = heartPool;
+        this.random = random;
+        this.frameProfiler = frameProfiler;
+        this.effectQueue = effectQueue;
+        this.despawner = despawner;
+        this.puckSwarm = puckSwarm;
         this.brickerGameManager = brickerGameManager;
         this.mainBallTag = mainBallTag;
         this.basePaddleTag = basePaddleTag;
         this.fallenHeartTag = fallenHeartTag;
-        this.fallenHeartToRemoveTag = fallenHeartToRemoveTag;
         this.puckTag = puckTag;
     }
 
@@ -231,6 +264,60 @@ public class StrategiesManager {
         return gameObjects;
     }
 
+    /**
+     * Returns the registry tracking the game's transient objects.
+     *
+     * @return The GameObjectRegistry.
+     */
+    public GameObjectRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Returns the pool the pucks are taken from.
+     *
+     * @return The puck pool.
+     */
+    public GameObjectPool<Puck> getPuckPool() {
+        return puckPool;
+    }
+
+    /**
+     * Returns the pool the fallen hearts are taken from.
+     *
+     * @return The fallen heart pool.
+     */
+    public GameObjectPool<FallenHeart> getHeartPool() {
+        return heartPool;
+    }
+
+    /**
+     * Returns the random source of the game, holding a stream per subsystem.
+     *
+     * @return The GameRandom instance.
+     */
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Returns the profiler measuring the game's frames.
+     *
+     * @return The FrameProfiler instance, possibly disabled.
+     */
+    public FrameProfiler getFrameProfiler() {
+        return frameProfiler;
+    }
+
+    /**
+     * Returns the queue the strategies defer their effects to.
+     *
+     * @return The EffectQueue instance.
+     */
+    public EffectQueue getEffectQueue() {
+        return effectQueue;
+    }
+
     /**
      * Returns the tag for the main ball GameObject.
      *
@@ -259,21 +346,30 @@ public class StrategiesManager {
     }
 
     /**
-     * Returns the tag for removing the fallen heart GameObject.
+     * Returns the despawner removing transient objects from the game.
+     *
+     * @return The Despawner instance.
+     */
+    public Despawner getDespawner() {
+        return despawner;
+    }
+
+    /**
+     * Returns the swarm the pucks are spawned into.
      *
-     * @return The tag for removing the fallen heart.
+     * @return The PuckSwarm instance, or null if pucks are spawned from the puck pool.
      */
-    public String getFallenHeartToRemoveTag() {
-        return fallenHeartToRemoveTag;
+    public PuckSwarm getPuckSwarm() {
+        return puckSwarm;
     }
 
     /**
-     * Returns the tag for removing the special paddle GameObject.
+     * Returns the tag for an active special paddle GameObject.
      *
-     * @return The tag for removing the special paddle.
+     * @return The special paddle tag.
      */
-    public String getSpecialPaddleToRemoveTag() {
-        return specialPaddleToRemoveTag;
+    public String getSpecialPaddleTag() {
+        return specialPaddleTag;
     }
 
     /**
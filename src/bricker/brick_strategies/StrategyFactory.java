@@ -4,11 +4,17 @@ import bricker.brick_strategies.puck_startegies.BasicRandomStrategy;
 import bricker.brick_strategies.puck_startegies.CircleUnitStrategy;
 import bricker.brick_strategies.puck_startegies.DirectionStrategy;
 import bricker.gameobjects.BricksController;
-import java.util.Random;
+import bricker.util.GameRandom;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
 
 
 /**
  * Factory class for creating various collision strategies for the Bricker game.
+ * The strategies hold no per-brick state, so they are shared as flyweights: every special strategy is
+ * built once, and every double strategy is built once per composition of strategies.
  */
 public class StrategyFactory {
 
@@ -58,14 +64,19 @@ public class StrategyFactory {
     private final BricksController bricksController;
 
     /**
-     * The layer of bricks in the game.
+     * The basic collision strategy for handling collisions.
      */
-    private final int bricksLayer;
+    private BasicCollisionStrategy basicCollisionStrategy;
 
     /**
-     * The basic collision strategy for handling collisions.
+     * The shared special strategies, indexed by strategy index, built on first use.
      */
-    private BasicCollisionStrategy basicCollisionStrategy;
+    private final CollisionStrategy[] sharedStrategies;
+
+    /**
+     * The shared double strategies, keyed by the signature of their composition.
+     */
+    private final Map<Integer, DoubleStrategy> doubleStrategies;
 
 
     /**
@@ -73,14 +84,13 @@ public class StrategyFactory {
      *
      * @param strategiesManager The StrategiesManager instance for managing game strategies.
      * @param bricksController  The BricksController instance for managing bricks in the game.
-     * @param bricksLayer       The layer index for bricks.
      */
-    public StrategyFactory(StrategiesManager strategiesManager, BricksController bricksController,
-                           int bricksLayer) {
+    public StrategyFactory(StrategiesManager strategiesManager, BricksController bricksController) {
         this.strategiesManager = strategiesManager;
         this.bricksController = bricksController;
-        this.bricksLayer = bricksLayer;
         this.basicCollisionStrategy = createBasicStrategy();
+        this.sharedStrategies = new CollisionStrategy[DOUBLE_STRATEGY];
+        this.doubleStrategies = new HashMap<>();
     }
 
     /**
@@ -89,8 +99,7 @@ public class StrategyFactory {
      * @return The BasicCollisionStrategy instance.
      */
     private BasicCollisionStrategy createBasicStrategy() {
-        return new BasicCollisionStrategy(strategiesManager.getGameObjects(),
-                bricksController, bricksLayer);
+        return new BasicCollisionStrategy(bricksController, strategiesManager.getEffectQueue());
     }
 
     /**
@@ -99,10 +108,13 @@ public class StrategyFactory {
      * @return The AddPucksStrategy instance.
      */
     private AddPucksStrategy createPuckStrategy() {
-        DirectionStrategy[] puckStrategies = {new BasicRandomStrategy(), new CircleUnitStrategy()};
-        return new AddPucksStrategy(strategiesManager.getPuckImage(), strategiesManager.getCollisionSound(),
-                strategiesManager.getBallSize(), strategiesManager.getGameObjects(), puckStrategies,
-                basicCollisionStrategy, strategiesManager.getPuckTag());
+        SplittableRandom pucksRandom = strategiesManager.getRandom().stream(GameRandom.Stream.PUCKS);
+        DirectionStrategy[] puckStrategies = {new BasicRandomStrategy(pucksRandom),
+                new CircleUnitStrategy(pucksRandom)};
+        return new AddPucksStrategy(strategiesManager.getPuckPool(), strategiesManager.getGameObjects(),
+                puckStrategies, basicCollisionStrategy, strategiesManager.getRegistry(),
+                strategiesManager.getPuckTag(), strategiesManager.getEffectQueue(),
+                strategiesManager.getPuckSwarm());
     }
 
     /**
@@ -115,8 +127,9 @@ public class StrategyFactory {
                 strategiesManager.getPaddleImage(), strategiesManager.getPaddleWidth(),
                 strategiesManager.getPaddleHeight(), strategiesManager.getInputListener(),
                 strategiesManager.getWindowDimensions(), strategiesManager.getPaddleCounter(),
-                strategiesManager.getWallWidth(), basicCollisionStrategy,
-                strategiesManager.getSpecialPaddleToRemoveTag());
+                strategiesManager.getWallWidth(), basicCollisionStrategy, strategiesManager.getRegistry(),
+                strategiesManager.getSpecialPaddleTag(), strategiesManager.getDespawner(),
+                strategiesManager.getEffectQueue());
     }
 
     /**
@@ -125,11 +138,9 @@ public class StrategyFactory {
      * @return The AddLifeStrategy instance.
      */
     private AddLifeStrategy createLifeStrategy() {
-        return new AddLifeStrategy(strategiesManager.getGameObjects(),
-                strategiesManager.getHeartSize(), strategiesManager.getHeartImage(),
-                strategiesManager.getLifeCounter(), basicCollisionStrategy,
-                strategiesManager.getBasePaddleTag(), strategiesManager.getFallenHeartTag(),
-                strategiesManager.getFallenHeartToRemoveTag());
+        return new AddLifeStrategy(strategiesManager.getGameObjects(), strategiesManager.getHeartPool(),
+                basicCollisionStrategy, strategiesManager.getRegistry(),
+                strategiesManager.getFallenHeartTag(), strategiesManager.getEffectQueue());
     }
 
     /**
@@ -140,16 +151,17 @@ public class StrategyFactory {
     private CameraStrategy createCameraStrategy() {
         return new CameraStrategy(strategiesManager.getBrickerGameManager(),
                 strategiesManager.getWindowDimensions(),
-                basicCollisionStrategy, strategiesManager.getMainBallTag());
+                basicCollisionStrategy, strategiesManager.getRegistry(), strategiesManager.getMainBallTag(),
+                strategiesManager.getEffectQueue());
     }
 
     /**
      * A helper function that helps choose strategies for double strategy behavior.
      *
+     * @param random The level generation stream the strategies are drawn from.
      * @return Array of indexes.
      */
-    private int[] createDoubleStrategyHelper(){
-        Random random = new Random();
+    private int[] createDoubleStrategyHelper(SplittableRandom random){
         int[] collisionStrategiesIdx = new int[MAX_STRATEGIES_PER_BRICK];
         int currStrategiesNum = 0;
         int requiredStrategiesNum = MIN_STRATEGIES_NUM;
@@ -169,38 +181,115 @@ public class StrategyFactory {
     }
 
     /**
-     * Creates the double strategy.
+     * Creates the double strategy, or returns the shared one with the same composition.
      *
+     * @param random The level generation stream the combined strategies are drawn from.
      * @return The DoubleStrategy instance.
      */
-    private DoubleStrategy createDoubleStrategy() {
-        int[] collisionStrategiesIdx = createDoubleStrategyHelper();
-        CollisionStrategy[] CollisionsArray = new CollisionStrategy[collisionStrategiesIdx.length];
-        for (int i = 0; i < collisionStrategiesIdx.length; i++){
-            CollisionsArray[i] = createStrategy(collisionStrategiesIdx[i]);
+    private DoubleStrategy createDoubleStrategy(SplittableRandom random) {
+        int[] collisionStrategiesIdx = createDoubleStrategyHelper(random);
+        int signature = 0;
+        for (int strategyIdx : collisionStrategiesIdx) {
+            signature = signature * (DOUBLE_STRATEGY + 1) + strategyIdx + 1;
+        }
+        DoubleStrategy doubleStrategy = doubleStrategies.get(signature);
+        if (doubleStrategy == null) {
+            CollisionStrategy[] CollisionsArray = new CollisionStrategy[collisionStrategiesIdx.length];
+            for (int i = 0; i < collisionStrategiesIdx.length; i++){
+                CollisionsArray[i] = getStrategy(collisionStrategiesIdx[i], random);
+            }
+            doubleStrategy = new DoubleStrategy(compileEffects(CollisionsArray), basicCollisionStrategy);
+            doubleStrategies.put(signature, doubleStrategy);
+        }
+        return doubleStrategy;
+    }
+
+    /**
+     * Compiles the combined strategies of a double strategy into a flat array of their effects.
+     * The combined strategies are never double strategies themselves: drawing a double while choosing them
+     * only raises the number of strategies to combine, so nesting is already flattened at draw time. The
+     * basic strategy, whose only effect is removing the brick, contributes none, since the double strategy
+     * removes the brick once by itself.
+     *
+     * @param collisionStrategies The combined strategies, in order.
+     * @return The effects of the strategies, in order.
+     */
+    private BrickEffect[] compileEffects(CollisionStrategy[] collisionStrategies) {
+        BrickEffect[] effects = new BrickEffect[MAX_STRATEGIES_PER_BRICK];
+        int effectsNum = 0;
+        for (CollisionStrategy collisionStrategy : collisionStrategies) {
+            if (collisionStrategy instanceof BrickEffect) {
+                effects[effectsNum++] = (BrickEffect) collisionStrategy;
+            }
+        }
+        return Arrays.copyOf(effects, effectsNum);
+    }
+
+    /**
+     * Returns the shared special strategy of the given index, building it on first use.
+     *
+     * @param index The index of the special strategy, below the double strategy index.
+     * @return The shared CollisionStrategy instance.
+     */
+    private CollisionStrategy getSharedStrategy(int index) {
+        if (sharedStrategies[index] == null) {
+            switch (index) {
+                case PUCKS_STRATEGY:
+                    sharedStrategies[index] = createPuckStrategy();
+                    break;
+                case PADDLE_STRATEGY:
+                    sharedStrategies[index] = createPaddleStrategy();
+                    break;
+                case LIFE_STRATEGY:
+                    sharedStrategies[index] = createLifeStrategy();
+                    break;
+                default:
+                    sharedStrategies[index] = createCameraStrategy();
+            }
         }
-        return new DoubleStrategy(CollisionsArray, basicCollisionStrategy);
+        return sharedStrategies[index];
     }
 
 
     /**
-     * Creates a specific collision strategy based on the given index.
+     * Returns the collision strategy of the given index, shared with every other brick using it.
+     * Random choices are drawn from the game's level generation stream.
      *
      * @param index The index of the collision strategy to create.
      * @return The created CollisionStrategy instance.
      */
     public CollisionStrategy createStrategy(int index) {
+        return createStrategy(index, strategiesManager.getRandom().stream(GameRandom.Stream.LEVEL));
+    }
+
+    /**
+     * Returns the collision strategy of the given index, shared with every other brick using it.
+     *
+     * @param index  The index of the collision strategy to create.
+     * @param random The level generation stream random choices are drawn from, such as a stream forked
+     *               for a single row of bricks.
+     * @return The created CollisionStrategy instance.
+     */
+    public CollisionStrategy createStrategy(int index, SplittableRandom random) {
+        return getStrategy(index, random);
+    }
+
+    /**
+     * Returns the shared collision strategy of the given index.
+     *
+     * @param index  The index of the collision strategy.
+     * @param random The level generation stream random choices are drawn from.
+     * @return The shared CollisionStrategy instance.
+     */
+    private CollisionStrategy getStrategy(int index, SplittableRandom random) {
         switch (index) {
             case PUCKS_STRATEGY:
-                return createPuckStrategy();
             case PADDLE_STRATEGY:
-                return createPaddleStrategy();
             case LIFE_STRATEGY:
-                return createLifeStrategy();
             case CAMERA_STRATEGY:
-                return createCameraStrategy();
+                return getSharedStrategy(index);
             case DOUBLE_STRATEGY:
-                return createDoubleStrategy();
+                return createDoubleStrategy(random);
             default:
                 return basicCollisionStrategy;
         }
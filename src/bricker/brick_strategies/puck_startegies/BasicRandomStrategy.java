@@ -2,18 +2,22 @@ package bricker.brick_strategies.puck_startegies;
 
 import danogl.GameObject;
 import danogl.util.Vector2;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * BasicRandomStrategy is a basic strategy that sets the direction of a puck GameObject randomly.
  */
 public class BasicRandomStrategy implements DirectionStrategy {
 
+    private final SplittableRandom random;
+
     /**
      * Constructs a new BasicRandomStrategy.
-     * This constructor is public by default and is used to create instances of BasicRandomStrategy.
+     *
+     * @param random The random stream the directions are drawn from.
      */
-    public BasicRandomStrategy() {
+    public BasicRandomStrategy(SplittableRandom random) {
+        this.random = random;
     }
 
     /**
@@ -24,16 +28,26 @@ public class BasicRandomStrategy implements DirectionStrategy {
      */
     @Override
     public void setDirection(GameObject gameObject, float speed) {
+        gameObject.setVelocity(drawVelocity(speed));
+    }
+
+    /**
+     * Draws a diagonal velocity with random signs.
+     *
+     * @param speed The speed of each axis of the velocity.
+     * @return The drawn velocity.
+     */
+    @Override
+    public Vector2 drawVelocity(float speed) {
         float ballVelX = speed;
         float ballVelY = speed;
-        Random random = new Random();
         if (random.nextBoolean()) {
             ballVelX *= -1;
         }
         if (random.nextBoolean()) {
             ballVelY *= -1;
         }
-        gameObject.setVelocity(new Vector2(ballVelX, ballVelY));
+        return new Vector2(ballVelX, ballVelY);
     }
 }
 
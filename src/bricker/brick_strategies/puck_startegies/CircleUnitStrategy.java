@@ -2,7 +2,7 @@ package bricker.brick_strategies.puck_startegies;
 
 import danogl.GameObject;
 import danogl.util.Vector2;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * CircleUnitStrategy is a strategy that sets the direction of a GameObject randomly within the circle unit.
@@ -10,11 +10,15 @@ import java.util.Random;
  */
 public class CircleUnitStrategy implements DirectionStrategy{
 
+    private final SplittableRandom random;
+
     /**
      * Constructs a new CircleUnitStrategy.
-     * This constructor is public by default and is used to create instances of CircleUnitStrategy.
+     *
+     * @param random The random stream the directions are drawn from.
      */
-    public CircleUnitStrategy() {
+    public CircleUnitStrategy(SplittableRandom random) {
+        this.random = random;
     }
     
     /**
@@ -25,10 +29,20 @@ public class CircleUnitStrategy implements DirectionStrategy{
      */
     @Override
     public void setDirection(GameObject gameObject, float speed) {
-        Random random = new Random();
+        gameObject.setVelocity(drawVelocity(speed));
+    }
+
+    /**
+     * Draws a velocity of the given speed in a random direction within the circle unit.
+     *
+     * @param speed The speed of the velocity.
+     * @return The drawn velocity.
+     */
+    @Override
+    public Vector2 drawVelocity(float speed) {
         double angle = random.nextDouble() * Math.PI;
         float velocityX = (float) Math.cos(angle) * speed;
         float velocityY = (float) Math.sin(angle) * speed;
-        gameObject.setVelocity(new Vector2(velocityX, velocityY));
+        return new Vector2(velocityX, velocityY);
     }
 }
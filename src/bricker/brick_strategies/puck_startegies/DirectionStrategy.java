@@ -1,6 +1,7 @@
 package bricker.brick_strategies.puck_startegies;
 
 import danogl.GameObject;
+import danogl.util.Vector2;
 
 /**
  * interface for setting the direction and speed of puck GameObject.
@@ -14,4 +15,12 @@ public interface DirectionStrategy {
      * @param speed      The speed at which the GameObject should move.
      */
     public void setDirection(GameObject gameObject, float speed);
+
+    /**
+     * Draws the velocity of a new puck, as setDirection sets it, for pucks that are not GameObjects.
+     *
+     * @param speed The speed at which the puck should move.
+     * @return The drawn velocity.
+     */
+    public Vector2 drawVelocity(float speed);
 }
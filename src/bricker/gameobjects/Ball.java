@@ -1,4 +1,7 @@
 package bricker.gameobjects;
+import bricker.util.CounterListener;
+import bricker.util.ObservableCounter;
+import bricker.util.SoundMixer;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.gui.Sound;
@@ -12,7 +15,9 @@ import java.util.Random;
  */
 public class Ball extends GameObject {
     private final Sound collisionSound;
-    private int collisionCounter = 0;
+    private final ObservableCounter collisionCounter = new ObservableCounter();
+    private SoundMixer soundMixer;
+    private int soundPriority;
 
     /**
      * Construct a new GameObject instance.
@@ -21,7 +26,7 @@ public class Ball extends GameObject {
      *                      (0,0) is the top-left corner of the window.
      * @param dimensions    Balls dimensions.
      * @param renderable    The renderable representing ball.
-     * @param collisionSound The sound to be played when collision happens.
+     * @param collisionSound The sound to be played when collision happens, or null for a silent ball.
      */
     public Ball(Vector2 topLeftCorner, Vector2 dimensions ,Renderable renderable,
                 Sound collisionSound) {
@@ -38,10 +43,25 @@ public class Ball extends GameObject {
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
-        this.collisionCounter += 1;
+        collisionCounter.increment();
         Vector2 newVelocity = getVelocity().flipped(collision.getNormal());
         setVelocity(newVelocity);
-        collisionSound.play();
+        if (soundMixer != null) {
+            soundMixer.request(collisionSound, soundPriority);
+        } else if (collisionSound != null) {
+            collisionSound.play();
+        }
+    }
+
+    /**
+     * Routes the ball's collision sound through a mixer instead of playing it directly.
+     *
+     * @param soundMixer    The mixer playing the sound.
+     * @param soundPriority The priority of the ball's sound in the mixer.
+     */
+    public void setSoundMixer(SoundMixer soundMixer, int soundPriority) {
+        this.soundMixer = soundMixer;
+        this.soundPriority = soundPriority;
     }
 
 
@@ -51,6 +71,15 @@ public class Ball extends GameObject {
      * @return The collision counter value.
      */
     public int getCollisionCounter(){
-        return this.collisionCounter;
+        return collisionCounter.value();
+    }
+
+    /**
+     * Adds a listener notified every time the ball's collision counter changes.
+     *
+     * @param listener The listener.
+     */
+    public void addCollisionListener(CounterListener listener) {
+        collisionCounter.addListener(listener);
     }
 }
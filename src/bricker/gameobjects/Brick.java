@@ -13,7 +13,9 @@ import danogl.util.Vector2;
  */
 public class Brick extends GameObject {
 
-    private final CollisionStrategy collisionStrategy;
+    private CollisionStrategy collisionStrategy;
+    private int cellIndex;
+    private boolean removalPending;
 
     /**
      * Construct a new brick instance.
@@ -23,21 +25,88 @@ public class Brick extends GameObject {
      * @param dimensions    brick dimensions.
      * @param renderable    The renderable representing a brick.
      * @param collisionStrategy The strategy to handle when there is a collision with this brick.
+     * @param cellIndex     The index of the brick's cell in the bricks grid, row by row.
      */
     public Brick(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
-                 CollisionStrategy collisionStrategy) {
+                 CollisionStrategy collisionStrategy, int cellIndex) {
         super(topLeftCorner, dimensions, renderable);
         this.collisionStrategy = collisionStrategy;
+        this.cellIndex = cellIndex;
+    }
+
+    /**
+     * Returns the index of the brick's cell in the bricks grid.
+     *
+     * @return The cell index, row by row.
+     */
+    public int getCellIndex() {
+        return cellIndex;
+    }
+
+    /**
+     * Places a pooled brick in a cell of the bricks grid.
+     *
+     * @param cellIndex         The index of the cell, row by row.
+     * @param topLeftCorner     The top-left corner of the cell, in window coordinates.
+     * @param collisionStrategy The strategy of the cell's brick.
+     */
+    void place(int cellIndex, Vector2 topLeftCorner, CollisionStrategy collisionStrategy) {
+        this.cellIndex = cellIndex;
+        this.collisionStrategy = collisionStrategy;
+        this.removalPending = false;
+        setTopLeftCorner(topLeftCorner);
+    }
+
+    /**
+     * Returns whether the brick was hit and its removal is queued.
+     *
+     * @return True if the brick's removal is pending, false otherwise.
+     */
+    public boolean isRemovalPending() {
+        return removalPending;
+    }
+
+    /**
+     * Marks whether the brick was hit and its removal is queued.
+     *
+     * @param removalPending True once the removal is queued, false when the brick returns to the grid.
+     */
+    public void setRemovalPending(boolean removalPending) {
+        this.removalPending = removalPending;
+    }
+
+    /**
+     * Replaces the strategy handling collisions with this brick, used when a level is restarted with
+     * newly rolled strategies.
+     *
+     * @param collisionStrategy The strategy to handle when there is a collision with this brick.
+     */
+    public void setCollisionStrategy(CollisionStrategy collisionStrategy) {
+        this.collisionStrategy = collisionStrategy;
     }
 
     /**
      * Handles collision with brick events.
+     * A brick whose removal is already queued ignores further collisions until the queue is drained.
      *
      * @param other The GameObject with which the brick collided.
      * @param collision Details of the collision.
      */
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
+        hit(other);
+    }
+
+    /**
+     * Applies the brick's collision strategy to a hit by the given object, unless the brick's removal is
+     * already queued. Used directly for hits the engine does not detect, such as hits by a puck swarm.
+     *
+     * @param other The GameObject that hit the brick.
+     */
+    void hit(GameObject other) {
+        if (removalPending) {
+            return;
+        }
         collisionStrategy.onCollision(this, other);
     }
 }
@@ -0,0 +1,212 @@
+package bricker.gameobjects;
+
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+
+/**
+ * Draws the bricks of a BricksController that have no Brick object drawing them.
+ * Without caching it draws every dormant brick of a compact controller, brick by brick.
+ * With caching it draws every live brick from a single image of the whole field, composited once and then
+ * updated only in the cells invalidated by removed or restored bricks, so drawing the field takes a single
+ * draw call on any grid size.
+ * The controller's bounds are given in screen coordinates, so the field is scaled from its window
+ * coordinates to the area it is drawn on.
+ * Only the part of the field in view is drawn: the rows and columns of bricks, or the region of the cached
+ * image, whose screen bounds overlap the window, so a camera zoomed on the ball draws only the bricks around
+ * it.
+ */
+public class BrickFieldRenderable implements Renderable {
+
+    private static final float OPAQUE = 1;
+
+    private final BricksController bricksController;
+    private final Renderable brickImage;
+    private final boolean cached;
+    private final Vector2 windowDimensions;
+    private final BitSet dirtyCells;
+    private BufferedImage fieldImage;
+
+    /**
+     * Constructs a new BrickFieldRenderable instance.
+     *
+     * @param bricksController The controller holding the bricks.
+     * @param brickImage       The renderable representing a brick.
+     * @param cached           Whether every live brick is drawn from a cached image of the field, rather
+     *                         than only the dormant bricks of a compact controller, one by one.
+     * @param windowDimensions The dimensions of the game window, the screen area in view.
+     */
+    public BrickFieldRenderable(BricksController bricksController, Renderable brickImage, boolean cached,
+                                Vector2 windowDimensions) {
+        this.bricksController = bricksController;
+        this.brickImage = brickImage;
+        this.cached = cached;
+        this.windowDimensions = windowDimensions;
+        this.dirtyCells = new BitSet();
+    }
+
+    /**
+     * Marks a cell whose brick was removed or restored, so it is drawn again in the cached image.
+     *
+     * @param cellIndex The index of the cell.
+     */
+    void invalidateCell(int cellIndex) {
+        dirtyCells.set(cellIndex);
+    }
+
+    /**
+     * Marks every cell, after the rows of the field scrolled, so the whole cached image is drawn again.
+     */
+    void invalidateAll() {
+        dirtyCells.set(0, bricksController.getBricksRow() * bricksController.getBricksCol());
+    }
+
+    /**
+     * Draws the field.
+     *
+     * @param g                       The graphics to draw on.
+     * @param topLeftCorner           The top-left corner of the field, in screen coordinates.
+     * @param dimensions              The dimensions of the field, in screen coordinates.
+     * @param degreesCounterClockwise Ignored, the field is never rotated.
+     * @param isFlippedHorizontally   Ignored, the field is never flipped.
+     * @param isFlippedVertically     Ignored, the field is never flipped.
+     * @param opaqueness              The opaqueness of the bricks.
+     */
+    @Override
+    public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                       double degreesCounterClockwise, boolean isFlippedHorizontally, boolean isFlippedVertically, double opaqueness) {
+        if (!cached) {
+            Vector2 fieldDimensions = bricksController.getDimensions();
+            drawBricks(g, topLeftCorner, dimensions.x() / fieldDimensions.x(),
+                    dimensions.y() / fieldDimensions.y(), opaqueness, true);
+            return;
+        }
+        updateFieldImage();
+        float viewLeft = Math.max(0, topLeftCorner.x());
+        float viewTop = Math.max(0, topLeftCorner.y());
+        float viewRight = Math.min(windowDimensions.x(), topLeftCorner.x() + dimensions.x());
+        float viewBottom = Math.min(windowDimensions.y(), topLeftCorner.y() + dimensions.y());
+        if (viewRight <= viewLeft || viewBottom <= viewTop) {
+            return;
+        }
+        float imageScaleX = fieldImage.getWidth() / dimensions.x();
+        float imageScaleY = fieldImage.getHeight() / dimensions.y();
+        int sourceLeft = Math.max(0, (int) Math.floor((viewLeft - topLeftCorner.x()) * imageScaleX));
+        int sourceTop = Math.max(0, (int) Math.floor((viewTop - topLeftCorner.y()) * imageScaleY));
+        int sourceRight = Math.min(fieldImage.getWidth(),
+                (int) Math.ceil((viewRight - topLeftCorner.x()) * imageScaleX));
+        int sourceBottom = Math.min(fieldImage.getHeight(),
+                (int) Math.ceil((viewBottom - topLeftCorner.y()) * imageScaleY));
+        Composite composite = g.getComposite();
+        if (opaqueness < OPAQUE) {
+            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) opaqueness));
+        }
+        g.drawImage(fieldImage, Math.round(topLeftCorner.x() + sourceLeft / imageScaleX),
+                Math.round(topLeftCorner.y() + sourceTop / imageScaleY),
+                Math.round(topLeftCorner.x() + sourceRight / imageScaleX),
+                Math.round(topLeftCorner.y() + sourceBottom / imageScaleY),
+                sourceLeft, sourceTop, sourceRight, sourceBottom, null);
+        g.setComposite(composite);
+    }
+
+    /**
+     * Draws the bricks one by one: the dormant bricks without caching, or all live bricks into the cached
+     * image.
+     *
+     * @param g             The graphics to draw on.
+     * @param topLeftCorner The top-left corner of the field on the graphics.
+     * @param scaleX        The horizontal scale from window coordinates to the graphics.
+     * @param scaleY        The vertical scale from window coordinates to the graphics.
+     * @param opaqueness    The opaqueness of the bricks.
+     * @param inViewOnly    Whether only the rows and columns overlapping the window are drawn.
+     */
+    private void drawBricks(Graphics2D g, Vector2 topLeftCorner, float scaleX, float scaleY,
+                            double opaqueness, boolean inViewOnly) {
+        float space = bricksController.getSpaceBetweenBricks();
+        float brickWidth = bricksController.getBrickWidth();
+        float brickHeight = bricksController.getBrickHeight();
+        Vector2 brickDimensions = new Vector2(brickWidth * scaleX, brickHeight * scaleY);
+        int bricksCol = bricksController.getBricksCol();
+        int firstRow = 0;
+        int lastRow = bricksController.getBricksRow() - 1;
+        int firstCol = 0;
+        int lastCol = bricksCol - 1;
+        if (inViewOnly) {
+            firstRow = Math.max(firstRow, slotIndex(-topLeftCorner.y() / scaleY, space, brickHeight));
+            lastRow = Math.min(lastRow,
+                    slotIndex((windowDimensions.y() - topLeftCorner.y()) / scaleY, space, brickHeight));
+            firstCol = Math.max(firstCol, slotIndex(-topLeftCorner.x() / scaleX, space, brickWidth));
+            lastCol = Math.min(lastCol,
+                    slotIndex((windowDimensions.x() - topLeftCorner.x()) / scaleX, space, brickWidth));
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            float y = topLeftCorner.y() + (space + row * (brickHeight + space)) * scaleY;
+            for (int col = firstCol; col <= lastCol; col++) {
+                int cellIndex = bricksController.cellIndex(row, col);
+                boolean drawn = cached ? bricksController.isLiveCell(cellIndex)
+                        : bricksController.isDormantCell(cellIndex);
+                if (drawn) {
+                    float x = topLeftCorner.x() + (space + col * (brickWidth + space)) * scaleX;
+                    brickImage.render(g, new Vector2(x, y), brickDimensions, 0, false, false, opaqueness);
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps a field coordinate to the index of the row or column of bricks whose brick, or the space after
+     * it, contains the coordinate.
+     *
+     * @param position   The coordinate, in the field's window coordinates.
+     * @param space      The space between bricks.
+     * @param cellLength The length of a brick along that axis.
+     * @return The row or column index, may be outside the field.
+     */
+    private static int slotIndex(float position, float space, float cellLength) {
+        return (int) Math.floor((position - space) / (cellLength + space));
+    }
+
+    /**
+     * Composites the field into the cached image on first use, and afterwards redraws only the dirty cells.
+     */
+    private void updateFieldImage() {
+        if (fieldImage == null) {
+            Vector2 fieldDimensions = bricksController.getDimensions();
+            fieldImage = new BufferedImage(Math.max(1, (int) Math.ceil(fieldDimensions.x())),
+                    Math.max(1, (int) Math.ceil(fieldDimensions.y())), BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = fieldImage.createGraphics();
+            drawBricks(g, Vector2.ZERO, 1, 1, OPAQUE, false);
+            g.dispose();
+            dirtyCells.clear();
+            return;
+        }
+        if (dirtyCells.isEmpty()) {
+            return;
+        }
+        Graphics2D g = fieldImage.createGraphics();
+        float space = bricksController.getSpaceBetweenBricks();
+        float brickWidth = bricksController.getBrickWidth();
+        float brickHeight = bricksController.getBrickHeight();
+        Vector2 brickDimensions = new Vector2(brickWidth, brickHeight);
+        int bricksCol = bricksController.getBricksCol();
+        for (int cellIndex = dirtyCells.nextSetBit(0); cellIndex >= 0;
+             cellIndex = dirtyCells.nextSetBit(cellIndex + 1)) {
+            float x = space + (cellIndex % bricksCol) * (brickWidth + space);
+            float y = space + bricksController.cellRow(cellIndex) * (brickHeight + space);
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect((int) Math.floor(x), (int) Math.floor(y), (int) Math.ceil(brickWidth) + 1,
+                    (int) Math.ceil(brickHeight) + 1);
+            g.setComposite(AlphaComposite.SrcOver);
+            if (bricksController.isLiveCell(cellIndex)) {
+                brickImage.render(g, new Vector2(x, y), brickDimensions, 0, false, false, OPAQUE);
+            }
+        }
+        g.dispose();
+        dirtyCells.clear();
+    }
+}
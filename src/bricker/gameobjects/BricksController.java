@@ -3,31 +3,91 @@ package bricker.gameobjects;
 import bricker.brick_strategies.CollisionStrategy;
 import bricker.brick_strategies.StrategiesManager;
 import bricker.brick_strategies.StrategyFactory;
+import bricker.level.LevelFile;
+import bricker.util.GameRandom;
+import bricker.util.ObservableCounter;
+import bricker.util.SweptCollision;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
 import danogl.collisions.Layer;
 import danogl.gui.rendering.Renderable;
-import danogl.util.Counter;
 import danogl.util.Vector2;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
 
 /**
  * Represents a controller for managing all brick GameObjects.
  * This controller handles the creation of bricks with randomly chosen collision strategies.
+ * It also serves as a uniform-grid broadphase: every frame only the bricks in the few grid cells a moving
+ * object can reach are placed in the colliding bricks layer, all the other bricks wait in a dormant
+ * layer the engine never tests for collisions.
+ * Removed bricks are kept, so a level can be restarted in place by returning them to the grid.
+ * In compact mode no Brick object is kept for the dormant bricks: a cell is only a bit in the set of
+ * live cells and a byte coding its collision strategy, its position is derived from its row and column.
+ * Brick objects are taken from a bounded pool when a cell is armed and returned when it is disarmed, and
+ * the dormant bricks are drawn by the controller itself.
+ * The layout may come from a level file, in which case cells may be empty and strategies may be fixed or
+ * drawn with the file's weights; the cells are read straight from the mapped file while building.
+ * In endless mode, on top of compact mode, the grid is a ring of rows scrolling down one row at a time:
+ * the bottom row is released and a row generated ahead of time enters at the top, so a session of any
+ * length keeps the same memory, and the brick counter counts the bricks currently in the field.
+ * With cached rendering, in either mode, the controller draws every live brick from a single cached image of
+ * the field, updating only the cells of removed and restored bricks, and Brick objects draw nothing.
  */
 public class BricksController extends GameObject {
 
     private static final int PROBABILITY_BOUND = 10;
-    private static final int BRICKS_LAYER = Layer.STATIC_OBJECTS;
-    private final Counter brickCount;
+    private static final int BRICKS_LAYER = CollisionMatrix.Kind.BRICK.getLayer();
+    private static final int DORMANT_BRICKS_LAYER = Layer.STATIC_OBJECTS + 1;
+    private static final float ARM_MARGIN = 1;
+    private static final int BRICK_POOL_CAPACITY = 256;
+    private static final int MAX_STRATEGY_CODES = 256;
+    private static final int STRATEGY_CODE_MASK = 0xFF;
+    private static final int LOOKAHEAD_ROWS = 4;
+    private final ObservableCounter brickCount;
     private final float spaceBetweenBricks;
     private final int bricksRow;
     private final int bricksCol;
     private final float brickWidth;
     private final float brickHeight;
     private final StrategyFactory strategyFactory;
+    private final GameRandom random;
+    private final LevelFile level;
+    private final int[] strategyWeights;
+    private final int strategyWeightsTotal;
     private final GameObjectCollection gameObjects;
     private final Renderable brickImage;
+    private final boolean compact;
+    private final BrickFieldRenderable fieldRenderable;
+    private final Brick[] bricks;
+    private final Brick[] cells;
+    private final BitSet liveCells;
+    private final byte[] strategyCodes;
+    private final List<CollisionStrategy> strategyTable;
+    private final Map<CollisionStrategy, Integer> strategyTableCodes;
+    private final GameObjectPool<Brick> brickPool;
+    private final BitSet armedCells;
+    private final int[] armedStamps;
+    private int[] armedList;
+    private int armedCount;
+    private int frameStamp;
+    private int[] removedCells;
+    private int removedCount;
+    private boolean endless;
+    private float rowInterval;
+    private float scrollClock;
+    private int firstRow;
+    private byte[] aheadCodes;
+    private BitSet aheadLiveCells;
+    private int aheadFirst;
+    private int aheadCount;
+    private long generatedRows;
+    private long scrolledRows;
+    private long releasedBricks;
 
     /**
      * Constructs a new BricksController instance.
@@ -45,42 +105,184 @@ public class BricksController extends GameObject {
     public BricksController(Renderable brickImage, float spaceBetweenBricks,
                             int bricksRow, int bricksCol, float brickWidth, float brickHeight,
                             GameObjectCollection gameObjects, StrategiesManager strategiesManager) {
+        this(brickImage, spaceBetweenBricks, bricksRow, bricksCol, brickWidth, brickHeight, gameObjects,
+                strategiesManager, false, false);
+    }
+
+    /**
+     * Constructs a new BricksController instance, optionally storing the bricks in compact mode and drawing
+     * them from a cached image.
+     *
+     * @param brickImage         The renderable representing a brick.
+     * @param spaceBetweenBricks The space between bricks.
+     * @param bricksRow          Number of brick rows.
+     * @param bricksCol          Number of brick cols.
+     * @param brickWidth         The width of each brick.
+     * @param brickHeight        The height of each brick.
+     * @param gameObjects        The collection of GameObjects in the game.
+     * @param strategiesManager  The manager for brick collision strategies.
+     * @param compact            Whether Brick objects exist only for the cells moving objects can reach,
+     *                           with the controller drawing all the other bricks.
+     * @param cachedRendering    Whether the controller draws all the bricks from a cached image of the field.
+     */
+    public BricksController(Renderable brickImage, float spaceBetweenBricks,
+                            int bricksRow, int bricksCol, float brickWidth, float brickHeight,
+                            GameObjectCollection gameObjects, StrategiesManager strategiesManager,
+                            boolean compact, boolean cachedRendering) {
+        this(brickImage, spaceBetweenBricks, bricksRow, bricksCol, brickWidth, brickHeight, gameObjects,
+                strategiesManager, compact, cachedRendering, null);
+    }
+
+    /**
+     * Constructs a new BricksController instance with the layout of a level file.
+     *
+     * @param brickImage         The renderable representing a brick.
+     * @param spaceBetweenBricks The space between bricks.
+     * @param bricksRow          Number of brick rows, the level's number of rows.
+     * @param bricksCol          Number of brick cols, the level's number of columns.
+     * @param brickWidth         The width of each brick.
+     * @param brickHeight        The height of each brick.
+     * @param gameObjects        The collection of GameObjects in the game.
+     * @param strategiesManager  The manager for brick collision strategies.
+     * @param compact            Whether Brick objects exist only for the cells moving objects can reach,
+     *                           with the controller drawing all the other bricks.
+     * @param cachedRendering    Whether the controller draws all the bricks from a cached image of the field.
+     * @param level              The level file holding the layout, or null for a full grid of random bricks.
+     */
+    public BricksController(Renderable brickImage, float spaceBetweenBricks,
+                            int bricksRow, int bricksCol, float brickWidth, float brickHeight,
+                            GameObjectCollection gameObjects, StrategiesManager strategiesManager,
+                            boolean compact, boolean cachedRendering, LevelFile level) {
         super(Vector2.ZERO, Vector2.ZERO, null);
+        if (level != null && (level.getBricksRow() != bricksRow || level.getBricksCol() != bricksCol)) {
+            throw new IllegalArgumentException("The level is not " + bricksRow + "x" + bricksCol);
+        }
+        this.level = level;
+        this.strategyWeights = level == null ? null : level.getStrategyWeights();
+        int weightsTotal = 0;
+        if (strategyWeights != null) {
+            for (int weight : strategyWeights) {
+                weightsTotal += weight;
+            }
+        }
+        this.strategyWeightsTotal = weightsTotal;
+        this.compact = compact;
         this.gameObjects = gameObjects;
-        this.brickCount = new Counter();
-        this.brickImage = brickImage;
+        this.brickCount = new ObservableCounter();
+        // the Brick objects draw nothing when the whole field is drawn from the cache, otherwise only in view
+        this.brickImage = cachedRendering || brickImage == null ? null
+                : new ViewCulledRenderable(brickImage, strategiesManager.getWindowDimensions());
         this.spaceBetweenBricks = spaceBetweenBricks;
         this.bricksRow = bricksRow;
         this.bricksCol = bricksCol;
         this.brickWidth = brickWidth;
         this.brickHeight = brickHeight;
-        this.strategyFactory = new StrategyFactory(strategiesManager, this, BRICKS_LAYER);
-        createBricksMatrix();
+        this.cells = new Brick[bricksRow * bricksCol];
+        this.bricks = compact ? null : new Brick[cells.length];
+        this.liveCells = compact ? new BitSet(cells.length) : null;
+        this.strategyCodes = compact ? new byte[cells.length] : null;
+        this.strategyTable = new ArrayList<>();
+        this.strategyTableCodes = new IdentityHashMap<>();
+        this.brickPool = compact ? new GameObjectPool<>(() -> new Brick(Vector2.ZERO,
+                new Vector2(brickWidth, brickHeight), this.brickImage, null, 0), BRICK_POOL_CAPACITY, 0)
+                : null;
+        this.armedCells = new BitSet(cells.length);
+        this.armedStamps = new int[cells.length];
+        this.armedList = new int[Math.min(cells.length, bricksCol)];
+        this.removedCells = new int[Math.min(cells.length, bricksCol)];
+        this.random = strategiesManager.getRandom();
+        this.strategyFactory = new StrategyFactory(strategiesManager, this);
+        for (CollisionMatrix.Kind kind : CollisionMatrix.Kind.values()) {
+            gameObjects.layers().shouldLayersCollide(kind.getLayer(), DORMANT_BRICKS_LAYER, false);
+        }
+        gameObjects.layers().shouldLayersCollide(DORMANT_BRICKS_LAYER, DORMANT_BRICKS_LAYER, false);
+        if (compact) {
+            createCompactBricksMatrix();
+        } else {
+            createBricksMatrix();
+        }
+        if (compact || cachedRendering) {
+            this.fieldRenderable = new BrickFieldRenderable(this, brickImage, cachedRendering,
+                    strategiesManager.getWindowDimensions());
+            setDimensions(new Vector2(bricksCol * (brickWidth + spaceBetweenBricks) + spaceBetweenBricks,
+                    bricksRow * (brickHeight + spaceBetweenBricks) + spaceBetweenBricks));
+            renderer().setRenderable(fieldRenderable);
+            gameObjects.addGameObject(this, DORMANT_BRICKS_LAYER);
+        } else {
+            this.fieldRenderable = null;
+        }
     }
 
     /**
-     * Chooses a collision strategy randomly based on a predefined probabilities.
+     * Chooses a collision strategy randomly based on a predefined probabilities, or on the level's weights.
      *
+     * @param rowRandom The level generation stream of the brick's row.
      * @return A randomly chosen collision strategy.
      */
-    private CollisionStrategy chooseCollisionRandomly(){
-        Random random = new Random();
-        int index = random.nextInt(PROBABILITY_BOUND);
-        return strategyFactory.createStrategy(index);
+    private CollisionStrategy chooseCollisionRandomly(SplittableRandom rowRandom){
+        int index;
+        if (strategyWeightsTotal > 0) {
+            int weight = rowRandom.nextInt(strategyWeightsTotal);
+            index = 0;
+            while (weight >= strategyWeights[index]) {
+                weight -= strategyWeights[index];
+                index++;
+            }
+        } else {
+            index = rowRandom.nextInt(PROBABILITY_BOUND);
+        }
+        return strategyFactory.createStrategy(index, rowRandom);
+    }
+
+    /**
+     * Returns the code of a cell in the level file, see LevelFile.
+     *
+     * @param cellIndex The index of the cell.
+     * @return The cell's code, LevelFile.RANDOM_CELL for every cell when there is no level file.
+     */
+    private byte cellCode(int cellIndex) {
+        return level == null ? LevelFile.RANDOM_CELL : level.cellCode(cellIndex);
+    }
+
+    /**
+     * Chooses the collision strategy of a cell that holds a brick: the cell's fixed strategy, or a
+     * randomly chosen one.
+     *
+     * @param cellCode  The code of the cell.
+     * @param rowRandom The level generation stream of the brick's row.
+     * @return The cell's collision strategy.
+     */
+    private CollisionStrategy chooseCollision(byte cellCode, SplittableRandom rowRandom) {
+        if (cellCode == LevelFile.RANDOM_CELL) {
+            return chooseCollisionRandomly(rowRandom);
+        }
+        return strategyFactory.createStrategy(LevelFile.strategyIndex(cellCode), rowRandom);
     }
 
     /**
-     * Creates all bricks with randomly chosen collision strategies.
+     * Creates all bricks with randomly chosen collision strategies, skipping the empty cells of the level.
+     * Every row draws from its own stream forked from the level generation stream, so a row's bricks
+     * depend only on the seed and the row's index.
+     * Bricks start in the dormant layer, until a moving object gets near them.
      */
     private void createBricksMatrix(){
         float currX = spaceBetweenBricks;
         float currY = spaceBetweenBricks;
         for (int i = 0; i < bricksRow; i++){
+            SplittableRandom rowRandom = random.fork(GameRandom.Stream.LEVEL);
             for (int j = 0; j < bricksCol; j++) {
-                CollisionStrategy collisionStrategy = chooseCollisionRandomly();
-                GameObject brick = new Brick(new Vector2(currX, currY), new Vector2(brickWidth, brickHeight),
-                        brickImage, collisionStrategy);
-                gameObjects.addGameObject(brick, BRICKS_LAYER);
+                int cellIndex = i * bricksCol + j;
+                byte cellCode = cellCode(cellIndex);
+                if (cellCode == LevelFile.EMPTY_CELL) {
+                    currX += (brickWidth + spaceBetweenBricks);
+                    continue;
+                }
+                CollisionStrategy collisionStrategy = chooseCollision(cellCode, rowRandom);
+                Brick brick = new Brick(new Vector2(currX, currY), new Vector2(brickWidth, brickHeight),
+                        brickImage, collisionStrategy, cellIndex);
+                bricks[cellIndex] = brick;
+                cells[cellIndex] = brick;
+                gameObjects.addGameObject(brick, DORMANT_BRICKS_LAYER);
                 brickCount.increment();
                 currX += (brickWidth + spaceBetweenBricks);
             }
@@ -89,12 +291,594 @@ public class BricksController extends GameObject {
         }
     }
 
+    /**
+     * Creates all bricks in compact mode, drawing their strategies exactly like createBricksMatrix does,
+     * but storing only their strategy codes.
+     */
+    private void createCompactBricksMatrix() {
+        int liveCount = 0;
+        for (int i = 0; i < bricksRow; i++) {
+            SplittableRandom rowRandom = random.fork(GameRandom.Stream.LEVEL);
+            for (int j = 0; j < bricksCol; j++) {
+                int cellIndex = i * bricksCol + j;
+                byte cellCode = cellCode(cellIndex);
+                if (cellCode == LevelFile.EMPTY_CELL) {
+                    continue;
+                }
+                strategyCodes[cellIndex] = strategyCode(chooseCollision(cellCode, rowRandom));
+                liveCells.set(cellIndex);
+                liveCount++;
+            }
+        }
+        brickCount.increaseBy(liveCount);
+    }
+
+    /**
+     * Returns the code of a collision strategy, adding it to the strategy table on first use.
+     * The strategies are shared flyweights, so a level only uses a few dozen distinct ones.
+     *
+     * @param collisionStrategy The collision strategy.
+     * @return The strategy's code, stored as a byte.
+     */
+    private byte strategyCode(CollisionStrategy collisionStrategy) {
+        Integer code = strategyTableCodes.get(collisionStrategy);
+        if (code == null) {
+            if (strategyTable.size() == MAX_STRATEGY_CODES) {
+                throw new IllegalStateException("More than " + MAX_STRATEGY_CODES +
+                        " distinct brick strategies");
+            }
+            code = strategyTable.size();
+            strategyTable.add(collisionStrategy);
+            strategyTableCodes.put(collisionStrategy, code);
+        }
+        return (byte) code.intValue();
+    }
+
+    /**
+     * Returns the top-left corner of a cell, derived from its row and column.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The cell's top-left corner, in window coordinates.
+     */
+    private Vector2 cellTopLeft(int row, int col) {
+        return new Vector2(spaceBetweenBricks + col * (brickWidth + spaceBetweenBricks),
+                spaceBetweenBricks + row * (brickHeight + spaceBetweenBricks));
+    }
+
+    /**
+     * Returns the index of the cell at a row and column of the field. The rows of the field are a ring in
+     * endless mode, where the top row is stored at the ring's first row; otherwise rows are stored in order.
+     *
+     * @param row The row, from the top of the field.
+     * @param col The column.
+     * @return The index of the cell.
+     */
+    int cellIndex(int row, int col) {
+        return ((row + firstRow) % bricksRow) * bricksCol + col;
+    }
+
+    /**
+     * Returns the row of the field a cell is currently in.
+     *
+     * @param cellIndex The index of the cell.
+     * @return The row, from the top of the field.
+     */
+    int cellRow(int cellIndex) {
+        return (cellIndex / bricksCol - firstRow + bricksRow) % bricksRow;
+    }
+
+    /**
+     * Takes a Brick object from the pool and places it in a compact cell.
+     *
+     * @param cellIndex The index of the cell.
+     * @return The brick standing for the cell.
+     */
+    private Brick materializeBrick(int cellIndex) {
+        Brick brick = brickPool.acquire();
+        brick.place(cellIndex, cellTopLeft(cellRow(cellIndex), cellIndex % bricksCol),
+                strategyTable.get(strategyCodes[cellIndex] & STRATEGY_CODE_MASK));
+        return brick;
+    }
+
+    /**
+     * Returns whether the brick of a cell is drawn by the controller rather than by a Brick object, which
+     * is when the cell is live and no Brick object stands for it.
+     *
+     * @param cellIndex The index of the cell.
+     * @return True if the controller draws the cell's brick.
+     */
+    boolean isDormantCell(int cellIndex) {
+        return liveCells.get(cellIndex) && cells[cellIndex] == null;
+    }
+
+    /**
+     * Returns whether a cell holds a brick that was not removed.
+     *
+     * @param cellIndex The index of the cell.
+     * @return True if the cell's brick is live.
+     */
+    boolean isLiveCell(int cellIndex) {
+        return compact ? liveCells.get(cellIndex) : cells[cellIndex] != null;
+    }
+
+    /**
+     * Returns the number of brick rows.
+     *
+     * @return The number of rows.
+     */
+    int getBricksRow() {
+        return bricksRow;
+    }
+
+    /**
+     * Returns the number of brick columns.
+     *
+     * @return The number of columns.
+     */
+    int getBricksCol() {
+        return bricksCol;
+    }
+
+    /**
+     * Returns the width of each brick.
+     *
+     * @return The brick width.
+     */
+    float getBrickWidth() {
+        return brickWidth;
+    }
+
+    /**
+     * Returns the height of each brick.
+     *
+     * @return The brick height.
+     */
+    float getBrickHeight() {
+        return brickHeight;
+    }
+
+    /**
+     * Returns the space between bricks.
+     *
+     * @return The space between bricks.
+     */
+    float getSpaceBetweenBricks() {
+        return spaceBetweenBricks;
+    }
+
+    /**
+     * Maps a coordinate to the index of the grid line (row or column) containing it.
+     *
+     * @param position   The coordinate, in window coordinates.
+     * @param cellLength The length of a brick along that axis.
+     * @return The grid line index, may be outside the grid.
+     */
+    private int gridIndex(float position, float cellLength) {
+        return (int) Math.floor((position - spaceBetweenBricks) / (cellLength + spaceBetweenBricks));
+    }
+
+    /**
+     * Starts a new broadphase pass. Must be called once per frame, before arming cells.
+     */
+    public void beginBroadphase() {
+        frameStamp++;
+    }
+
+    /**
+     * Arms every live brick the given object can touch during the coming frame, so that the engine
+     * tests it for collisions. The object's bounding box is grown by the distance it moves in a frame,
+     * and mapped directly to the grid cells it overlaps.
+     *
+     * @param gameObject The moving object.
+     * @param deltaTime  The duration of the coming frame.
+     */
+    public void armCellsNear(GameObject gameObject, float deltaTime) {
+        Vector2 topLeft = gameObject.getTopLeftCorner();
+        Vector2 dimensions = gameObject.getDimensions();
+        Vector2 velocity = gameObject.getVelocity();
+        float reachX = Math.abs(velocity.x()) * deltaTime + ARM_MARGIN;
+        float reachY = Math.abs(velocity.y()) * deltaTime + ARM_MARGIN;
+        int firstCol = Math.max(0, gridIndex(topLeft.x() - reachX, brickWidth));
+        int lastCol = Math.min(bricksCol - 1, gridIndex(topLeft.x() + dimensions.x() + reachX, brickWidth));
+        int firstRow = Math.max(0, gridIndex(topLeft.y() - reachY, brickHeight));
+        int lastRow = Math.min(bricksRow - 1, gridIndex(topLeft.y() + dimensions.y() + reachY,
+                brickHeight));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                armCell(cellIndex(row, col));
+            }
+        }
+    }
+
+    /**
+     * Returns the earliest contact time of a moving circle with the live bricks along its move, see
+     * SweptCollision. Only the cells the move's bounding box overlaps are tested.
+     *
+     * @param centerX       The x coordinate of the circle's center before the move.
+     * @param centerY       The y coordinate of the circle's center before the move.
+     * @param radius        The radius of the circle.
+     * @param displacementX The horizontal displacement of the move.
+     * @param displacementY The vertical displacement of the move.
+     * @return The earliest contact time, or SweptCollision.NO_CONTACT if the move hits no brick.
+     */
+    public float contactTime(float centerX, float centerY, float radius, float displacementX,
+                               float displacementY) {
+        float minX = Math.min(centerX, centerX + displacementX) - radius;
+        float maxX = Math.max(centerX, centerX + displacementX) + radius;
+        float minY = Math.min(centerY, centerY + displacementY) - radius;
+        float maxY = Math.max(centerY, centerY + displacementY) + radius;
+        int firstCol = Math.max(0, gridIndex(minX, brickWidth));
+        int lastCol = Math.min(bricksCol - 1, gridIndex(maxX, brickWidth));
+        int firstRow = Math.max(0, gridIndex(minY, brickHeight));
+        int lastRow = Math.min(bricksRow - 1, gridIndex(maxY, brickHeight));
+        float time = SweptCollision.NO_CONTACT;
+        for (int row = firstRow; row <= lastRow; row++) {
+            float brickTop = spaceBetweenBricks + row * (brickHeight + spaceBetweenBricks);
+            for (int col = firstCol; col <= lastCol; col++) {
+                if (!isLiveCell(cellIndex(row, col))) {
+                    continue;
+                }
+                float brickLeft = spaceBetweenBricks + col * (brickWidth + spaceBetweenBricks);
+                time = Math.min(time, SweptCollision.contactTime(centerX, centerY, radius,
+                        displacementX, displacementY, brickLeft, brickTop, brickLeft + brickWidth,
+                        brickTop + brickHeight));
+            }
+        }
+        return time;
+    }
+
+    /**
+     * Returns the live cell containing a point, for objects that are tested against the grid directly
+     * instead of by the engine.
+     *
+     * @param x The x coordinate of the point, in window coordinates.
+     * @param y The y coordinate of the point, in window coordinates.
+     * @return The index of the live cell whose brick contains the point, or -1 if the point is outside the
+     *         grid, in the space between bricks, or in a cell without a brick.
+     */
+    public int liveCellAt(float x, float y) {
+        int col = gridIndex(x, brickWidth);
+        int row = gridIndex(y, brickHeight);
+        if (col < 0 || col >= bricksCol || row < 0 || row >= bricksRow
+                || x - spaceBetweenBricks - col * (brickWidth + spaceBetweenBricks) > brickWidth
+                || y - spaceBetweenBricks - row * (brickHeight + spaceBetweenBricks) > brickHeight) {
+            return -1;
+        }
+        int cellIndex = cellIndex(row, col);
+        return isLiveCell(cellIndex) ? cellIndex : -1;
+    }
+
+    /**
+     * Hits the brick of a live cell by an object the engine does not test for collisions, applying the
+     * brick's collision strategy as if the engine had detected the collision. In compact mode the cell is
+     * armed, so a Brick object stands for it until the strategy's effects are applied.
+     *
+     * @param cellIndex The index of a live cell, see liveCellAt.
+     * @param other     The GameObject that hit the brick.
+     */
+    public void hitCell(int cellIndex, GameObject other) {
+        if (compact) {
+            armCell(cellIndex);
+        }
+        cells[cellIndex].hit(other);
+    }
+
+    /**
+     * Moves the brick of the given cell to the colliding layer, unless the cell is dead.
+     * In compact mode the brick is materialized from the pool.
+     *
+     * @param cellIndex The index of the cell.
+     */
+    private void armCell(int cellIndex) {
+        if (compact ? !liveCells.get(cellIndex) : cells[cellIndex] == null) {
+            return;
+        }
+        armedStamps[cellIndex] = frameStamp;
+        if (armedCells.get(cellIndex)) {
+            return;
+        }
+        armedCells.set(cellIndex);
+        if (compact) {
+            cells[cellIndex] = materializeBrick(cellIndex);
+        } else {
+            gameObjects.removeGameObject(cells[cellIndex], DORMANT_BRICKS_LAYER);
+        }
+        gameObjects.addGameObject(cells[cellIndex], BRICKS_LAYER);
+        armedList = append(armedList, armedCount, cellIndex);
+        armedCount++;
+    }
+
+    /**
+     * Appends a cell index to a list, growing the list when it is full.
+     *
+     * @param list      The list.
+     * @param size      The number of indices in the list.
+     * @param cellIndex The index to append.
+     * @return The list holding the appended index, a new one if the given list was full.
+     */
+    private static int[] append(int[] list, int size, int cellIndex) {
+        if (size == list.length) {
+            int[] grown = new int[list.length * 2 + 1];
+            System.arraycopy(list, 0, grown, 0, size);
+            list = grown;
+        }
+        list[size] = cellIndex;
+        return list;
+    }
+
+    /**
+     * Ends the broadphase pass, returning to the dormant layer every brick no object can reach anymore.
+     * In compact mode these bricks are returned to the pool instead.
+     */
+    public void endBroadphase() {
+        int kept = 0;
+        for (int i = 0; i < armedCount; i++) {
+            int cellIndex = armedList[i];
+            if (!armedCells.get(cellIndex)) {
+                continue;
+            }
+            if (armedStamps[cellIndex] == frameStamp) {
+                armedList[kept++] = cellIndex;
+            } else {
+                armedCells.clear(cellIndex);
+                gameObjects.removeGameObject(cells[cellIndex], BRICKS_LAYER);
+                if (compact) {
+                    brickPool.release(cells[cellIndex]);
+                    cells[cellIndex] = null;
+                } else {
+                    gameObjects.addGameObject(cells[cellIndex], DORMANT_BRICKS_LAYER);
+                }
+            }
+        }
+        armedCount = kept;
+    }
+
+    /**
+     * Returns the number of bricks armed by the last broadphase pass, the bricks the engine tests.
+     *
+     * @return The number of armed bricks.
+     */
+    public int getArmedCount() {
+        return armedCount;
+    }
+
+    /**
+     * Removes the given brick from the game and decreases the brick counter.
+     * The brick is removed from its layer first, and the grid and counter change only if that succeeded, so
+     * they always match the bricks in the game. Removing a brick that was already removed has no effect.
+     *
+     * @param brick The brick to remove.
+     * @return True if the brick was removed by this call.
+     */
+    public boolean removeBrick(Brick brick) {
+        int cellIndex = brick.getCellIndex();
+        if (cells[cellIndex] != brick) {
+            return false;
+        }
+        int layer = armedCells.get(cellIndex) ? BRICKS_LAYER : DORMANT_BRICKS_LAYER;
+        if (!gameObjects.removeGameObject(brick, layer)) {
+            return false;
+        }
+        cells[cellIndex] = null;
+        if (!endless) {
+            removedCells = append(removedCells, removedCount, cellIndex);
+            removedCount++;
+        }
+        armedCells.clear(cellIndex);
+        if (fieldRenderable != null) {
+            fieldRenderable.invalidateCell(cellIndex);
+        }
+        if (compact) {
+            liveCells.clear(cellIndex);
+            brickPool.release(brick);
+        }
+        brickCount.decrement();
+        return true;
+    }
+
+    /**
+     * Restores the level to its initial state by returning every removed brick to the grid.
+     * Only the removed bricks are touched, unless the strategies are rolled again, so restoring a level
+     * costs the same on any grid size. In endless mode the whole field is replaced by new rows instead.
+     *
+     * @param rerollStrategies Whether every brick gets a new randomly chosen collision strategy, drawn
+     *                         from the level generation stream, or keeps its strategy.
+     */
+    public void restoreBricks(boolean rerollStrategies) {
+        if (endless) {
+            for (int i = 0; i < bricksRow; i++) {
+                scrollRow();
+            }
+            scrollClock = 0;
+            return;
+        }
+        for (int i = 0; i < removedCount; i++) {
+            int cellIndex = removedCells[i];
+            if (fieldRenderable != null) {
+                fieldRenderable.invalidateCell(cellIndex);
+            }
+            if (compact) {
+                liveCells.set(cellIndex);
+            } else {
+                bricks[cellIndex].setRemovalPending(false);
+                cells[cellIndex] = bricks[cellIndex];
+                gameObjects.addGameObject(bricks[cellIndex], DORMANT_BRICKS_LAYER);
+            }
+            brickCount.increment();
+        }
+        removedCount = 0;
+        if (rerollStrategies) {
+            for (int i = 0; i < bricksRow; i++) {
+                SplittableRandom rowRandom = random.fork(GameRandom.Stream.LEVEL);
+                for (int j = 0; j < bricksCol; j++) {
+                    int cellIndex = i * bricksCol + j;
+                    byte cellCode = cellCode(cellIndex);
+                    if (cellCode == LevelFile.EMPTY_CELL) {
+                        continue;
+                    }
+                    CollisionStrategy collisionStrategy = chooseCollision(cellCode, rowRandom);
+                    if (compact) {
+                        strategyCodes[cellIndex] = strategyCode(collisionStrategy);
+                        if (cells[cellIndex] != null) {
+                            cells[cellIndex].setCollisionStrategy(collisionStrategy);
+                        }
+                    } else {
+                        bricks[cellIndex].setCollisionStrategy(collisionStrategy);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Turns on endless mode: from now on the field scrolls down one row every given interval, releasing its
+     * bottom row and generating a new top row. Requires compact mode.
+     *
+     * @param rowInterval The time, in seconds, between two scrolled rows.
+     */
+    public void enableEndlessScrolling(float rowInterval) {
+        if (!compact || rowInterval <= 0) {
+            throw new IllegalStateException(
+                    "Endless scrolling requires compact bricks and a positive interval");
+        }
+        this.endless = true;
+        this.rowInterval = rowInterval;
+        this.aheadCodes = new byte[LOOKAHEAD_ROWS * bricksCol];
+        this.aheadLiveCells = new BitSet(aheadCodes.length);
+        this.generatedRows = bricksRow;
+        this.removedCount = 0;
+    }
+
+    /**
+     * Advances the scrolling of the field in endless mode, scrolling every row that is due. Every call also
+     * generates at most one row ahead of time, so rows are ready before they are needed.
+     *
+     * @param deltaTime The time elapsed, in seconds.
+     */
+    public void advanceScroll(float deltaTime) {
+        if (!endless) {
+            return;
+        }
+        if (aheadCount < LOOKAHEAD_ROWS) {
+            generateRow((aheadFirst + aheadCount) % LOOKAHEAD_ROWS);
+            aheadCount++;
+        }
+        scrollClock += deltaTime;
+        while (scrollClock >= rowInterval) {
+            scrollClock -= rowInterval;
+            scrollRow();
+        }
+    }
+
+    /**
+     * Generates the next row of the endless field into a slot of the rows generated ahead of time.
+     * Rows take their layout from the level file's rows in turn, if there is one, and their strategies
+     * from a stream forked for the row, like the rows of the initial field.
+     *
+     * @param slot The slot of the generated row.
+     */
+    private void generateRow(int slot) {
+        int levelRowStart = (int) (generatedRows % bricksRow) * bricksCol;
+        int slotStart = slot * bricksCol;
+        SplittableRandom rowRandom = random.fork(GameRandom.Stream.LEVEL);
+        for (int col = 0; col < bricksCol; col++) {
+            byte cellCode = cellCode(levelRowStart + col);
+            if (cellCode == LevelFile.EMPTY_CELL) {
+                aheadLiveCells.clear(slotStart + col);
+            } else {
+                aheadCodes[slotStart + col] = strategyCode(chooseCollision(cellCode, rowRandom));
+                aheadLiveCells.set(slotStart + col);
+            }
+        }
+        generatedRows++;
+    }
+
+    /**
+     * Scrolls the field down by one row: the bottom row's bricks are released, and its storage becomes the
+     * top row, filled from the next row generated ahead of time. Only the armed bricks move, the others are
+     * placed by their row when they are drawn or armed.
+     */
+    private void scrollRow() {
+        int bottomRow = (firstRow + bricksRow - 1) % bricksRow;
+        int rowStart = bottomRow * bricksCol;
+        int released = 0;
+        for (int cellIndex = rowStart; cellIndex < rowStart + bricksCol; cellIndex++) {
+            if (!liveCells.get(cellIndex)) {
+                continue;
+            }
+            if (armedCells.get(cellIndex)) {
+                armedCells.clear(cellIndex);
+                gameObjects.removeGameObject(cells[cellIndex], BRICKS_LAYER);
+                brickPool.release(cells[cellIndex]);
+                cells[cellIndex] = null;
+            }
+            liveCells.clear(cellIndex);
+            released++;
+        }
+        firstRow = bottomRow;
+        if (aheadCount == 0) {
+            generateRow(aheadFirst);
+            aheadCount++;
+        }
+        int slotStart = aheadFirst * bricksCol;
+        int added = 0;
+        for (int col = 0; col < bricksCol; col++) {
+            if (aheadLiveCells.get(slotStart + col)) {
+                strategyCodes[rowStart + col] = aheadCodes[slotStart + col];
+                liveCells.set(rowStart + col);
+                added++;
+            }
+        }
+        aheadFirst = (aheadFirst + 1) % LOOKAHEAD_ROWS;
+        aheadCount--;
+        for (int i = 0; i < armedCount; i++) {
+            int cellIndex = armedList[i];
+            if (armedCells.get(cellIndex)) {
+                cells[cellIndex].setTopLeftCorner(cellTopLeft(cellRow(cellIndex), cellIndex % bricksCol));
+            }
+        }
+        scrolledRows++;
+        releasedBricks += released;
+        brickCount.increaseBy(added - released);
+        if (fieldRenderable != null) {
+            fieldRenderable.invalidateAll();
+        }
+    }
+
+    /**
+     * Returns the number of rows scrolled in endless mode.
+     *
+     * @return The number of scrolled rows.
+     */
+    public long getScrolledRows() {
+        return scrolledRows;
+    }
+
+    /**
+     * Returns the number of bricks that left the field at its bottom in endless mode, without being hit.
+     *
+     * @return The number of released bricks.
+     */
+    public long getReleasedBricks() {
+        return releasedBricks;
+    }
+
+    /**
+     * Returns the factory creating the collision strategies of the bricks.
+     *
+     * @return The StrategyFactory instance.
+     */
+    public StrategyFactory getStrategyFactory() {
+        return strategyFactory;
+    }
+
     /**
      * Get method for the counter of current bricks number in the game.
      *
      * @return The counter for the number of bricks.
      */
-    public Counter getBrickCounter(){
+    public ObservableCounter getBrickCounter(){
         return brickCount;
     }
 }
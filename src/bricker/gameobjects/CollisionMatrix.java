@@ -0,0 +1,203 @@
+package bricker.gameobjects;
+
+import danogl.collisions.Layer;
+import danogl.collisions.LayerManager;
+
+/**
+ * Declares which kinds of objects collide with each other.
+ * Every kind of object lives in a layer of its own, and the layers of kinds that do not interact are told
+ * not to collide, so the engine never tests their pairs: no callback or tag check runs for them.
+ * The matrix also estimates, from the number of objects of every kind, the pairs the engine tests and the
+ * pairs it culls, per frame and in total. The estimates count every pair of objects of colliding kinds,
+ * n times m, as a brute-force pass would; they are not measured in the engine, which may test fewer.
+ */
+public class CollisionMatrix {
+
+    /**
+     * A kind of object, with the layer its objects are added to.
+     */
+    public enum Kind {
+        /**
+         * The main ball.
+         */
+        BALL(Layer.DEFAULT),
+        /**
+         * The pucks spawned by the bricks.
+         */
+        PUCK(Layer.DEFAULT + 1),
+        /**
+         * The fallen hearts spawned by the bricks.
+         */
+        HEART(Layer.DEFAULT + 2),
+        /**
+         * The base paddle and the special paddles.
+         */
+        PADDLE(Layer.DEFAULT + 3),
+        /**
+         * The bricks armed by the broadphase, see BricksController.
+         */
+        BRICK(Layer.STATIC_OBJECTS),
+        /**
+         * The walls.
+         */
+        WALL(Layer.STATIC_OBJECTS + 2);
+
+        private final int layer;
+
+        /**
+         * Constructs a kind of object.
+         *
+         * @param layer The layer the objects of the kind are added to.
+         */
+        Kind(int layer) {
+            this.layer = layer;
+        }
+
+        /**
+         * Returns the layer the objects of the kind are added to.
+         *
+         * @return The layer.
+         */
+        public int getLayer() {
+            return layer;
+        }
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+    private final boolean[][] collides;
+    private long frameTestedPairs;
+    private long frameCulledPairs;
+    private long lastFrameTestedPairs;
+    private long lastFrameCulledPairs;
+    private long testedPairs;
+    private long culledPairs;
+
+    /**
+     * Constructs a new CollisionMatrix instance in which no kinds collide.
+     */
+    public CollisionMatrix() {
+        this.collides = new boolean[KINDS.length][KINDS.length];
+    }
+
+    /**
+     * Declares that objects of two kinds collide with each other.
+     *
+     * @param first  The first kind.
+     * @param second The second kind, may be the first kind for objects colliding with their own kind.
+     */
+    public void allow(Kind first, Kind second) {
+        collides[first.ordinal()][second.ordinal()] = true;
+        collides[second.ordinal()][first.ordinal()] = true;
+    }
+
+    /**
+     * Returns whether objects of two kinds collide with each other.
+     *
+     * @param first  The first kind.
+     * @param second The second kind.
+     * @return True if the kinds collide.
+     */
+    public boolean collides(Kind first, Kind second) {
+        return collides[first.ordinal()][second.ordinal()];
+    }
+
+    /**
+     * Configures the engine's layers after the matrix: every pair of kinds' layers collides only if the
+     * kinds collide, and the given inert layers collide with nothing.
+     *
+     * @param layers      The engine's layers.
+     * @param inertLayers Layers of objects that never collide, such as objects the game tests by itself.
+     */
+    public void apply(LayerManager layers, int... inertLayers) {
+        for (int i = 0; i < KINDS.length; i++) {
+            for (int j = i; j < KINDS.length; j++) {
+                layers.shouldLayersCollide(KINDS[i].getLayer(), KINDS[j].getLayer(), collides[i][j]);
+            }
+            for (int inertLayer : inertLayers) {
+                layers.shouldLayersCollide(KINDS[i].getLayer(), inertLayer, false);
+            }
+        }
+        for (int inertLayer : inertLayers) {
+            for (int otherInertLayer : inertLayers) {
+                layers.shouldLayersCollide(inertLayer, otherInertLayer, false);
+            }
+        }
+    }
+
+    /**
+     * Starts counting the pairs of a new frame, keeping the counts of the frame that ended.
+     */
+    public void beginFrame() {
+        lastFrameTestedPairs = frameTestedPairs;
+        lastFrameCulledPairs = frameCulledPairs;
+        frameTestedPairs = 0;
+        frameCulledPairs = 0;
+    }
+
+    /**
+     * Estimates the pairs of objects of an engine update, as tested or culled by the matrix, from the
+     * numbers of objects of every kind.
+     *
+     * @param kindCounts The number of objects of every kind taking part in the update, indexed by the
+     *                   kinds' ordinals.
+     */
+    public void countPairs(int[] kindCounts) {
+        long tested = 0;
+        long culled = 0;
+        for (int i = 0; i < KINDS.length; i++) {
+            long count = kindCounts[i];
+            for (int j = i; j < KINDS.length; j++) {
+                long pairs = i == j ? count * (count - 1) / 2 : count * kindCounts[j];
+                if (collides[i][j]) {
+                    tested += pairs;
+                } else {
+                    culled += pairs;
+                }
+            }
+        }
+        frameTestedPairs += tested;
+        frameCulledPairs += culled;
+        testedPairs += tested;
+        culledPairs += culled;
+    }
+
+    /**
+     * Returns the number of pairs the engine tested during the last frame, estimated from the
+     * numbers of objects.
+     *
+     * @return The estimated number of tested pairs.
+     */
+    public long getLastFrameTestedPairs() {
+        return lastFrameTestedPairs;
+    }
+
+    /**
+     * Returns the number of pairs the matrix culled during the last frame, estimated from the
+     * numbers of objects.
+     *
+     * @return The estimated number of culled pairs.
+     */
+    public long getLastFrameCulledPairs() {
+        return lastFrameCulledPairs;
+    }
+
+    /**
+     * Returns the number of pairs the engine tested since the game started, estimated from the
+     * numbers of objects.
+     *
+     * @return The estimated number of tested pairs.
+     */
+    public long getTestedPairs() {
+        return testedPairs;
+    }
+
+    /**
+     * Returns the number of pairs the matrix culled since the game started, estimated from the
+     * numbers of objects.
+     *
+     * @return The estimated number of culled pairs.
+     */
+    public long getCulledPairs() {
+        return culledPairs;
+    }
+}
@@ -0,0 +1,16 @@
+package bricker.gameobjects;
+
+import danogl.GameObject;
+
+/**
+ * Listens to the despawning of the transient GameObjects of a tag.
+ */
+public interface DespawnListener {
+
+    /**
+     * Called once a despawned GameObject was removed from the game.
+     *
+     * @param gameObject The removed GameObject.
+     */
+    void onDespawn(GameObject gameObject);
+}
@@ -0,0 +1,142 @@
+package bricker.gameobjects;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Removes transient GameObjects from the game when they ask to leave it.
+ * An object despawns itself by calling despawn, which stops tracking it in the registry and queues it, in
+ * constant time; the queued objects are removed from the game together once the engine finished updating,
+ * and the listener of their tag is notified, for example to return them to their pool. Nothing is polled
+ * every frame and no tag is compared.
+ */
+public class Despawner {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final GameObjectCollection gameObjects;
+    private final GameObjectRegistry registry;
+    private DespawnListener[] listeners;
+    private int[] layers;
+    private GameObject[] pending;
+    private int[] pendingTagIds;
+    private int pendingCount;
+    private long despawnedCount;
+
+    /**
+     * Constructs a new Despawner instance.
+     *
+     * @param gameObjects The collection the despawned GameObjects are removed from.
+     * @param registry    The registry tracking the game's transient objects.
+     */
+    public Despawner(GameObjectCollection gameObjects, GameObjectRegistry registry) {
+        this.gameObjects = gameObjects;
+        this.registry = registry;
+        this.listeners = new DespawnListener[0];
+        this.layers = new int[0];
+        this.pending = new GameObject[INITIAL_CAPACITY];
+        this.pendingTagIds = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Sets the listener notified of every despawned GameObject of a tag.
+     *
+     * @param tagId    The id of the tag.
+     * @param listener The listener, or null for none.
+     */
+    public void setListener(int tagId, DespawnListener listener) {
+        if (tagId >= listeners.length) {
+            listeners = Arrays.copyOf(listeners, tagId + 1);
+        }
+        listeners[tagId] = listener;
+    }
+
+    /**
+     * Sets the layer the GameObjects of a tag are removed from, Layer.DEFAULT unless set.
+     *
+     * @param tagId The id of the tag.
+     * @param layer The layer the GameObjects of the tag are added to.
+     */
+    public void setLayer(int tagId, int layer) {
+        if (tagId >= layers.length) {
+            int length = layers.length;
+            layers = Arrays.copyOf(layers, tagId + 1);
+            Arrays.fill(layers, length, layers.length, Layer.DEFAULT);
+        }
+        layers[tagId] = layer;
+    }
+
+    /**
+     * Queues a GameObject for removal from the game, unless it was already despawned.
+     *
+     * @param gameObject The GameObject to remove.
+     * @param tagId      The id of the tag the GameObject is tracked under.
+     * @return True if the GameObject was queued, false if it is not tracked under the tag anymore.
+     */
+    public boolean despawn(GameObject gameObject, int tagId) {
+        if (!registry.unregister(gameObject, tagId)) {
+            return false;
+        }
+        enqueue(gameObject, tagId);
+        return true;
+    }
+
+    /**
+     * Queues every GameObject tracked under a tag for removal from the game.
+     *
+     * @param tagId The id of the tag.
+     */
+    public void despawnAll(int tagId) {
+        Set<GameObject> tracked = registry.objectsWithTag(tagId);
+        for (GameObject gameObject : tracked) {
+            enqueue(gameObject, tagId);
+        }
+        tracked.clear();
+    }
+
+    /**
+     * Removes every queued GameObject from the game and notifies the listeners of their tags.
+     */
+    public void flush() {
+        for (int i = 0; i < pendingCount; i++) {
+            GameObject gameObject = pending[i];
+            pending[i] = null;
+            int tagId = pendingTagIds[i];
+            gameObjects.removeGameObject(gameObject, tagId < layers.length ? layers[tagId] : Layer.DEFAULT);
+            if (tagId < listeners.length && listeners[tagId] != null) {
+                listeners[tagId].onDespawn(gameObject);
+            }
+        }
+        despawnedCount += pendingCount;
+        pendingCount = 0;
+    }
+
+    /**
+     * Returns the number of GameObjects removed from the game so far.
+     *
+     * @return The number of despawned GameObjects.
+     */
+    public long getDespawnedCount() {
+        return despawnedCount;
+    }
+
+    /**
+     * Appends a GameObject to the removal queue, growing it if full.
+     *
+     * @param gameObject The GameObject to remove.
+     * @param tagId      The id of the GameObject's tag.
+     */
+    private void enqueue(GameObject gameObject, int tagId) {
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+            pendingTagIds = Arrays.copyOf(pendingTagIds, pendingCount * 2);
+        }
+        pending[pendingCount] = gameObject;
+        pendingTagIds[pendingCount] = tagId;
+        pendingCount++;
+    }
+}
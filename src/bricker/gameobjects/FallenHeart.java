@@ -13,8 +13,11 @@ import danogl.util.Vector2;
  */
 public class FallenHeart extends GameObject {
     private final Counter lifeCounter;
-    private final String basePaddleTag;
-    private final String fallenHeartToRemoveTag;
+    private final GameObjectRegistry registry;
+    private final int basePaddleTagId;
+    private final int fallenHeartTagId;
+    private final Despawner despawner;
+    private final float despawnHeight;
 
     /**
      * Constructs a new FallenHeart instance.
@@ -24,34 +27,65 @@ public class FallenHeart extends GameObject {
      * @param dimensions             Fallen heart dimensions.
      * @param renderable             The renderable representing heart.
      * @param lifeCounter            The counter to track the number of life.
-     * @param basePaddleTag          The tag associated with the base paddle.
-     * @param fallenHeartToRemoveTag The tag associated with this fallen heart when it needs to be removed
-     *                               from gameObject collection.
+     * @param registry               The registry tracking the game's transient objects.
+     * @param basePaddleTagId        The id of the tag associated with the base paddle.
+     * @param fallenHeartTagId       The id of the tag associated with a falling heart.
+     * @param despawner              The despawner removing the heart from the game.
+     * @param despawnHeight          The height below which the heart leaves the game uncollected.
      */
     public FallenHeart(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable, Counter lifeCounter,
-                       String basePaddleTag, String fallenHeartToRemoveTag) {
+                       GameObjectRegistry registry, int basePaddleTagId, int fallenHeartTagId,
+                       Despawner despawner, float despawnHeight) {
         super(topLeftCorner, dimensions, renderable);
         this.lifeCounter = lifeCounter;
-        this.basePaddleTag = basePaddleTag;
-        this.fallenHeartToRemoveTag = fallenHeartToRemoveTag;
+        this.registry = registry;
+        this.basePaddleTagId = basePaddleTagId;
+        this.fallenHeartTagId = fallenHeartTagId;
+        this.despawner = despawner;
+        this.despawnHeight = despawnHeight;
+    }
+
+    /**
+     * Places the heart and sets it falling, for a heart taken from a pool.
+     *
+     * @param topLeftCorner Position of the object, in window coordinates (pixels).
+     * @param velocity      The falling velocity of the heart.
+     */
+    public void launch(Vector2 topLeftCorner, Vector2 velocity) {
+        setTopLeftCorner(topLeftCorner);
+        setVelocity(velocity);
+    }
+
+    /**
+     * Updates the heart, and despawns it once it fell past the paddle uncollected.
+     *
+     * @param deltaTime The time elapsed, in seconds, since the last frame.
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        if (getCenter().y() > despawnHeight) {
+            despawner.despawn(this, fallenHeartTagId);
+        }
     }
 
     /**
      * Determines whether the fallen heart should collide with another GameObject.
-     * Fallen heart should only collide with base paddle object.
+     * The collision matrix only lets fallen hearts meet paddles, of which they collide with the base paddle
+     * only.
      *
      * @param other The GameObject to check if fallen heart collides with.
      * @return True if the heart should collide with the other GameObject, otherwise returns false.
      */
     @Override
     public boolean shouldCollideWith(GameObject other) {
-        return super.shouldCollideWith(other) && (other.getTag().equals(basePaddleTag));
+        return super.shouldCollideWith(other) && registry.hasTag(other, basePaddleTagId);
     }
 
     /**
      * Handles fallen heart collision events.
-     * This method increments the life counter if collides with the base paddle,
-     * and sets the fallen hearts tag to remove tag.
+     * This method increments the life counter if collides with the base paddle, and despawns the heart,
+     * so a heart is collected only once.
      *
      * @param other     The GameObject with which the fallen heart collided.
      * @param collision The details of the collision.
@@ -59,8 +93,9 @@ public class FallenHeart extends GameObject {
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
-        lifeCounter.increment();
-        this.setTag(fallenHeartToRemoveTag);
+        if (despawner.despawn(this, fallenHeartTagId)) {
+            lifeCounter.increment();
+        }
     }
 
 
@@ -0,0 +1,68 @@
+package bricker.gameobjects;
+
+import bricker.util.FrameProfiler;
+import bricker.util.RollingHistogram;
+import danogl.GameObject;
+import danogl.gui.rendering.TextRenderable;
+import danogl.util.Vector2;
+
+import java.util.Locale;
+
+/**
+ * Represents an on-screen overlay showing frame time statistics.
+ * Displays the p50, p99 and maximum durations of the whole frame and of the engine update, and the
+ * estimated pairs of objects the engine tested and the collision matrix culled during the last frame, see
+ * CollisionMatrix, refreshed a few times per second so that the overlay itself stays cheap.
+ */
+public class FrameProfilerOverlay extends GameObject {
+
+    private static final int REFRESH_FRAMES = 30;
+    private static final double P50 = 50;
+    private static final double P99 = 99;
+    private static final double NANOS_IN_MILLI = 1e6;
+    private static final String FORMAT =
+            "frame %.2f/%.2f/%.2f ms  engine %.2f/%.2f/%.2f ms  est. pairs %d tested/%d culled";
+
+    private final FrameProfiler frameProfiler;
+    private final CollisionMatrix collisionMatrix;
+    private final TextRenderable textRenderable;
+    private int framesSinceRefresh;
+
+    /**
+     * Constructs a new FrameProfilerOverlay instance.
+     *
+     * @param topLeftCorner  Position of the overlay, in window coordinates.
+     * @param dimensions     Overlay dimensions.
+     * @param frameProfiler  The profiler whose statistics are displayed.
+     * @param collisionMatrix The matrix whose pair counts are displayed.
+     * @param textRenderable The text renderable displaying the statistics.
+     */
+    public FrameProfilerOverlay(Vector2 topLeftCorner, Vector2 dimensions, FrameProfiler frameProfiler,
+                                CollisionMatrix collisionMatrix, TextRenderable textRenderable) {
+        super(topLeftCorner, dimensions, textRenderable);
+        this.frameProfiler = frameProfiler;
+        this.collisionMatrix = collisionMatrix;
+        this.textRenderable = textRenderable;
+    }
+
+    /**
+     * Refreshes the displayed statistics every few frames.
+     *
+     * @param deltaTime The time elapsed since the last update.
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        if (++framesSinceRefresh < REFRESH_FRAMES) {
+            return;
+        }
+        framesSinceRefresh = 0;
+        RollingHistogram frame = frameProfiler.phaseHistogram(FrameProfiler.Phase.FRAME);
+        RollingHistogram engine = frameProfiler.phaseHistogram(FrameProfiler.Phase.ENGINE_UPDATE);
+        textRenderable.setString(String.format(Locale.ROOT, FORMAT,
+                frame.percentile(P50) / NANOS_IN_MILLI, frame.percentile(P99) / NANOS_IN_MILLI,
+                frame.max() / NANOS_IN_MILLI, engine.percentile(P50) / NANOS_IN_MILLI,
+                engine.percentile(P99) / NANOS_IN_MILLI, engine.max() / NANOS_IN_MILLI,
+                collisionMatrix.getLastFrameTestedPairs(), collisionMatrix.getLastFrameCulledPairs()));
+    }
+}
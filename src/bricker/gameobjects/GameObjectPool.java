@@ -0,0 +1,94 @@
+package bricker.gameobjects;
+
+import danogl.GameObject;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool of reusable GameObjects.
+ * Objects removed from the game are released back to the pool and handed out again on the next acquire,
+ * instead of being left for the garbage collector. The pool keeps at most its capacity of idle objects,
+ * and counts how many acquires were served from the pool (hits) and how many needed a new object (misses).
+ *
+ * @param <T> The type of the pooled GameObjects.
+ */
+public class GameObjectPool<T extends GameObject> {
+
+    private final Supplier<T> factory;
+    private final ArrayDeque<T> idleObjects;
+    private final int capacity;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructs a new GameObjectPool instance, and fills it with pre-built objects.
+     *
+     * @param factory  Creates a new object when the pool is empty.
+     * @param capacity The maximal number of idle objects kept by the pool.
+     * @param prewarm  The number of objects to build up front, at most the capacity.
+     */
+    public GameObjectPool(Supplier<T> factory, int capacity, int prewarm) {
+        this.factory = factory;
+        this.capacity = capacity;
+        this.idleObjects = new ArrayDeque<>(capacity);
+        for (int i = 0; i < Math.min(prewarm, capacity); i++) {
+            idleObjects.push(factory.get());
+        }
+    }
+
+    /**
+     * Hands out an idle object, or a new one if the pool is empty.
+     * The caller is responsible for resetting the object's state.
+     *
+     * @return An object ready to be reset and added to the game.
+     */
+    public T acquire() {
+        T gameObject = idleObjects.poll();
+        if (gameObject != null) {
+            hits++;
+            return gameObject;
+        }
+        misses++;
+        return factory.get();
+    }
+
+    /**
+     * Returns an object that was removed from the game to the pool.
+     * The object is dropped if the pool is already full.
+     *
+     * @param gameObject The object to release.
+     */
+    public void release(T gameObject) {
+        if (idleObjects.size() < capacity) {
+            idleObjects.push(gameObject);
+        }
+    }
+
+    /**
+     * Returns the number of acquires served by an idle object.
+     *
+     * @return The number of pool hits.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of acquires that needed a new object.
+     *
+     * @return The number of pool misses.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of idle objects currently in the pool.
+     *
+     * @return The number of idle objects.
+     */
+    public int getIdleCount() {
+        return idleObjects.size();
+    }
+}
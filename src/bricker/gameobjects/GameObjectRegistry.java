@@ -0,0 +1,114 @@
+package bricker.gameobjects;
+
+import danogl.GameObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of the transient GameObjects of the game, grouped by tag.
+ * Every tag is interned once into a small integer id, so the per-frame bookkeeping works on the
+ * few tracked objects of a tag instead of scanning every object in the game and comparing tags.
+ */
+public class GameObjectRegistry {
+
+    private final Map<String, Integer> tagIds;
+    private final List<String> tags;
+    private final List<Set<GameObject>> objectsByTag;
+
+    /**
+     * Constructs a new, empty GameObjectRegistry instance.
+     */
+    public GameObjectRegistry() {
+        this.tagIds = new HashMap<>();
+        this.tags = new ArrayList<>();
+        this.objectsByTag = new ArrayList<>();
+    }
+
+    /**
+     * Returns the id of the given tag, interning the tag if it was not seen before.
+     *
+     * @param tag The tag.
+     * @return The id of the tag.
+     */
+    public int tagId(String tag) {
+        Integer id = tagIds.get(tag);
+        if (id == null) {
+            id = tags.size();
+            tagIds.put(tag, id);
+            tags.add(tag.intern());
+            objectsByTag.add(new LinkedHashSet<>());
+        }
+        return id;
+    }
+
+    /**
+     * Returns the tag with the given id.
+     *
+     * @param tagId The id of the tag.
+     * @return The interned tag.
+     */
+    public String tagName(int tagId) {
+        return tags.get(tagId);
+    }
+
+    /**
+     * Tags the given GameObject and starts tracking it under that tag.
+     *
+     * @param gameObject The GameObject to track.
+     * @param tagId      The id of the tag to give the GameObject.
+     */
+    public void register(GameObject gameObject, int tagId) {
+        gameObject.setTag(tags.get(tagId));
+        objectsByTag.get(tagId).add(gameObject);
+    }
+
+    /**
+     * Stops tracking the given GameObject under the given tag.
+     *
+     * @param gameObject The GameObject to stop tracking.
+     * @param tagId      The id of the tag the GameObject is tracked under.
+     * @return True if the GameObject was tracked under that tag.
+     */
+    public boolean unregister(GameObject gameObject, int tagId) {
+        return objectsByTag.get(tagId).remove(gameObject);
+    }
+
+    /**
+     * Moves the given GameObject from one tag to another.
+     *
+     * @param gameObject The GameObject to retag.
+     * @param fromTagId  The id of the current tag.
+     * @param toTagId    The id of the new tag.
+     */
+    public void retag(GameObject gameObject, int fromTagId, int toTagId) {
+        unregister(gameObject, fromTagId);
+        register(gameObject, toTagId);
+    }
+
+    /**
+     * Checks whether the given GameObject is tracked under the given tag.
+     *
+     * @param gameObject The GameObject to check.
+     * @param tagId      The id of the tag.
+     * @return True if the GameObject is tracked under that tag.
+     */
+    public boolean hasTag(GameObject gameObject, int tagId) {
+        return objectsByTag.get(tagId).contains(gameObject);
+    }
+
+    /**
+     * Returns the GameObjects tracked under the given tag.
+     * The returned set is live, removing from it (for example through its iterator) stops tracking.
+     *
+     * @param tagId The id of the tag.
+     * @return The tracked GameObjects, in registration order.
+     */
+    public Set<GameObject> objectsWithTag(int tagId) {
+        return objectsByTag.get(tagId);
+    }
+}
@@ -1,16 +1,18 @@
 package bricker.gameobjects;
 
+import bricker.util.ObservableCounter;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
 import danogl.collisions.Layer;
 import danogl.gui.rendering.Renderable;
-import danogl.util.Counter;
 import danogl.util.Vector2;
 
 
 /**
  * Represents a graphic counter GameObject.
  * This counter displays hearts representing the player's remaining lives.
+ * A heart is built once for every life that can be displayed, and hearts are added or removed only when
+ * the number of lives changes.
  */
 public class GraphicCounter extends GameObject {
 
@@ -19,7 +21,6 @@ public class GraphicCounter extends GameObject {
     private static final int MAX_LIFE = 4;
     private static final int HEARTS_LAYER = Layer.BACKGROUND;
 
-    private final Counter lifeCounter;
     private GameObject[] hearts;
     private final int beginningLifeNum;
     private int heartCounter;
@@ -38,54 +39,49 @@ public class GraphicCounter extends GameObject {
      * @param gameObjects      The game objects collection.
      * @param heartSize        The size of each heart image.
      */
-    public GraphicCounter(Counter lifeCounter, int beginningLifeNum, Renderable heartImage,
+    public GraphicCounter(ObservableCounter lifeCounter, int beginningLifeNum, Renderable heartImage,
                           Vector2 windowDimensions, GameObjectCollection gameObjects, int heartSize) {
         super(Vector2.ZERO, Vector2.ZERO, null);
-        this.lifeCounter = lifeCounter;
         this.beginningLifeNum = beginningLifeNum;
         this.heartImage = heartImage;
         this.windowDimensions = windowDimensions;
         this.gameObjects = gameObjects;
         this.heartSize = heartSize;
         initializeHearts();
+        lifeCounter.addListener((oldValue, newValue) -> showHearts(newValue));
     }
 
 
     /**
-     * Initializes the hearts representing the player's lives.
+     * Initializes the hearts representing the player's lives, up to the maximum number of lives displayed,
+     * and shows the initial ones.
      */
     private void initializeHearts() {
-        heartCounter = beginningLifeNum;
-        hearts = new GameObject[beginningLifeNum+1];
+        hearts = new GameObject[Math.max(beginningLifeNum, MAX_LIFE)];
         float currX = SPACE_BETWEEN_HEARTS;
-        for (int i = 0; i < beginningLifeNum; i++) {
+        for (int i = 0; i < hearts.length; i++) {
             hearts[i] = new GameObject(new Vector2(currX, windowDimensions.y() - BUFFER_FROM_WALL),
                     new Vector2(heartSize, heartSize), this.heartImage);
-            gameObjects.addGameObject(hearts[i], HEARTS_LAYER);
             currX += (heartSize + SPACE_BETWEEN_HEARTS);
         }
+        heartCounter = 0;
+        showHearts(beginningLifeNum);
     }
 
     /**
-     * Updates the graphic counter based on changes in life counter.
+     * Adds or removes hearts until the given number of lives is displayed, up to the maximum.
      *
-     * @param deltaTime The time elapsed since the last update.
+     * @param lives The current number of lives.
      */
-    @Override
-    public void update(float deltaTime) {
-        super.update(deltaTime);
-        if (heartCounter > lifeCounter.value()) {
-            gameObjects.removeGameObject(hearts[heartCounter - 1], HEARTS_LAYER);
+    private void showHearts(int lives) {
+        int heartsToShow = Math.max(0, Math.min(lives, hearts.length));
+        while (heartCounter > heartsToShow) {
             heartCounter--;
-        } else if (heartCounter < lifeCounter.value() && (lifeCounter.value() <= MAX_LIFE)) {
-            float currX = heartCounter*(heartSize+SPACE_BETWEEN_HEARTS) + SPACE_BETWEEN_HEARTS;
-            GameObject heartToAdd = new GameObject(new Vector2(currX,
-                    windowDimensions.y() - BUFFER_FROM_WALL), new Vector2(heartSize, heartSize),
-                    this.heartImage);
-            hearts[heartCounter] = heartToAdd;
-            gameObjects.addGameObject(heartToAdd, HEARTS_LAYER);
+            gameObjects.removeGameObject(hearts[heartCounter], HEARTS_LAYER);
+        }
+        while (heartCounter < heartsToShow) {
+            gameObjects.addGameObject(hearts[heartCounter], HEARTS_LAYER);
             heartCounter++;
         }
     }
 }
-
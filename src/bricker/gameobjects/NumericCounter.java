@@ -1,14 +1,16 @@
 package bricker.gameobjects;
 
+import bricker.util.ObservableCounter;
 import danogl.GameObject;
 import danogl.gui.rendering.TextRenderable;
-import danogl.util.Counter;
 import danogl.util.Vector2;
 import java.awt.*;
 
 /**
  * Represents a numeric counter GameObject.
  * This counter displays a numerical value, representing the number of remaining lives.
+ * A text is built once for every value that can be displayed, and the counter switches texts only when the
+ * number of lives changes, so frames where it does not change cost nothing.
  */
 public class NumericCounter extends GameObject {
 
@@ -17,8 +19,7 @@ public class NumericCounter extends GameObject {
     private static final int RED_COLOR = 1;
     private static final int YELLOW_COLOR = 2;
     private static final int MAX_LIFE = 4;
-    private Counter lifeCounter;
-    private TextRenderable textRenderable;
+    private final TextRenderable[] lifeTexts;
 
 
     /**
@@ -26,25 +27,28 @@ public class NumericCounter extends GameObject {
      *
      * @param lifeCounter       The counter to display the numeric value.
      * @param windowDimensions  The dimensions of the game window.
-     * @param textRenderable    The text renderable to display the counter number.
      */
-    public NumericCounter(Counter lifeCounter, Vector2 windowDimensions, TextRenderable textRenderable) {
+    public NumericCounter(ObservableCounter lifeCounter, Vector2 windowDimensions) {
         super(new Vector2(windowDimensions.x()- BUFFER_FROM_WALL,
                 windowDimensions.y() - BUFFER_FROM_WALL), new Vector2(COUNTER_DIMENSION,
-                COUNTER_DIMENSION), textRenderable);
-        this.textRenderable = textRenderable;
-        this.lifeCounter = lifeCounter;
-        setCounter();
+                COUNTER_DIMENSION), null);
+        this.lifeTexts = new TextRenderable[MAX_LIFE + 1];
+        for (int lives = 0; lives <= MAX_LIFE; lives++) {
+            lifeTexts[lives] = createLifeText(lives);
+        }
+        setCounter(lifeCounter.value());
+        lifeCounter.addListener((oldValue, newValue) -> setCounter(newValue));
     }
 
-
     /**
-     * Updates the counter's value and color based on the current value of the life counter.
+     * Creates the text displaying a number of lives, in the color matching it.
+     *
+     * @param lives The number of lives.
+     * @return The TextRenderable instance.
      */
-    private void setCounter() {
-        int curr_count = lifeCounter.value();
-        textRenderable.setString(String.valueOf(curr_count));
-        switch (curr_count) {
+    private static TextRenderable createLifeText(int lives) {
+        TextRenderable textRenderable = new TextRenderable(String.valueOf(lives));
+        switch (lives) {
             case RED_COLOR:
                 textRenderable.setColor(Color.RED);
                 break;
@@ -54,19 +58,18 @@ public class NumericCounter extends GameObject {
             default:
                 textRenderable.setColor(Color.GREEN);
         }
+        return textRenderable;
     }
 
     /**
-     * Update method, updates counter's value and color when the life counter.
+     * Displays the text of the given number of lives.
      * Updates only if lives amount is less than the maximum number that is allowed.
      *
-     * @param deltaTime The time elapsed since the last update.
+     * @param lives The current number of lives.
      */
-    @Override
-    public void update(float deltaTime) {
-        super.update(deltaTime);
-        if (lifeCounter.value() <= MAX_LIFE) {
-            setCounter();
+    private void setCounter(int lives) {
+        if (lives >= 0 && lives <= MAX_LIFE) {
+            renderer().setRenderable(lifeTexts[lives]);
         }
     }
 }
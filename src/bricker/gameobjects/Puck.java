@@ -9,7 +9,10 @@ import danogl.util.Vector2;
  * Represents a puck GameObject in the game, inheriting from Ball class.
  */
 public class Puck extends Ball {
-    private static final float PUCK_SPEED = 100;
+    static final float PUCK_SPEED = 100;
+    private final Despawner despawner;
+    private final int puckTagId;
+    private final float despawnHeight;
 
     /**
      * Constructs a new Puck instance.
@@ -25,5 +28,51 @@ public class Puck extends Ball {
                 DirectionStrategy directionStrategy) {
         super(topLeftCorner, dimensions, renderable, collisionSound);
         directionStrategy.setDirection(this, PUCK_SPEED);
+        this.despawner = null;
+        this.puckTagId = 0;
+        this.despawnHeight = Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Constructs a new Puck instance that is not launched yet, to be kept in a pool.
+     * The puck despawns itself once it falls below the given height.
+     *
+     * @param dimensions     Puck dimensions.
+     * @param renderable     The renderable representing a puck.
+     * @param collisionSound The sound to be played when puck collides with an object.
+     * @param despawner      The despawner removing the puck from the game.
+     * @param puckTagId      The id of the tag the puck is tracked under.
+     * @param despawnHeight  The height below which the puck leaves the game.
+     */
+    public Puck(Vector2 dimensions, Renderable renderable, Sound collisionSound, Despawner despawner,
+                int puckTagId, float despawnHeight) {
+        super(Vector2.ZERO, dimensions, renderable, collisionSound);
+        this.despawner = despawner;
+        this.puckTagId = puckTagId;
+        this.despawnHeight = despawnHeight;
+    }
+
+    /**
+     * Updates the puck, and despawns it once it fell below the window.
+     *
+     * @param deltaTime The time elapsed, in seconds, since the last frame.
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        if (despawner != null && getCenter().y() > despawnHeight) {
+            despawner.despawn(this, puckTagId);
+        }
+    }
+
+    /**
+     * Places the puck and sets its initial direction, for a puck taken from a pool.
+     *
+     * @param topLeftCorner     Position of the object, in window coordinates (pixels).
+     * @param directionStrategy The strategy to set the initial direction of the puck.
+     */
+    public void launch(Vector2 topLeftCorner, DirectionStrategy directionStrategy) {
+        setTopLeftCorner(topLeftCorner);
+        directionStrategy.setDirection(this, PUCK_SPEED);
     }
 }
@@ -0,0 +1,310 @@
+package bricker.gameobjects;
+
+import bricker.brick_strategies.puck_startegies.DirectionStrategy;
+import bricker.util.SoundMixer;
+import danogl.GameObject;
+import danogl.gui.Sound;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+/**
+ * Represents a swarm of pucks simulated outside the engine, for games with thousands of pucks.
+ * The pucks are not GameObjects: their centers and velocities are kept in arrays of floats, integrated in a
+ * single loop, and tested directly against the live cells of the bricks grid and against a few rectangular
+ * obstacles, the walls and paddles, so a puck costs a few array slots and no engine collision processing.
+ * A puck hitting a brick applies the brick's collision strategy through the BricksController, like a hit
+ * detected by the engine, with the swarm as the hitting object. Pucks leave the swarm once they fall below
+ * the despawn height, the last puck taking the place of the departed one.
+ * The swarm draws all its pucks itself, see PuckSwarmRenderable.
+ */
+public class PuckSwarm extends GameObject {
+
+    private static final int MAX_OBSTACLES = 8;
+    private static final int OBSTACLE_FIELDS = 4;
+    private static final float HALF = 0.5F;
+    private final float[] centersX;
+    private final float[] centersY;
+    private final float[] velocitiesX;
+    private final float[] velocitiesY;
+    private final float radius;
+    private final float despawnHeight;
+    private final float[] obstacles;
+    private BricksController bricksController;
+    private SoundMixer soundMixer;
+    private Sound collisionSound;
+    private int soundPriority;
+    private int count;
+    private int obstacleCount;
+    private long spawnedPucks;
+    private long droppedPucks;
+    private long brickHits;
+
+    /**
+     * Constructs a new, empty PuckSwarm instance covering the window.
+     *
+     * @param windowDimensions The dimensions of the game window.
+     * @param capacity         The maximal number of pucks in the swarm.
+     * @param puckSize         The diameter of a puck.
+     * @param puckImage        The renderable representing a puck.
+     * @param despawnHeight    The height below which pucks leave the swarm.
+     */
+    public PuckSwarm(Vector2 windowDimensions, int capacity, float puckSize, Renderable puckImage,
+                     float despawnHeight) {
+        super(Vector2.ZERO, windowDimensions, null);
+        this.centersX = new float[capacity];
+        this.centersY = new float[capacity];
+        this.velocitiesX = new float[capacity];
+        this.velocitiesY = new float[capacity];
+        this.radius = puckSize * HALF;
+        this.despawnHeight = despawnHeight;
+        this.obstacles = new float[MAX_OBSTACLES * OBSTACLE_FIELDS];
+        renderer().setRenderable(new PuckSwarmRenderable(this, puckImage, windowDimensions));
+    }
+
+    /**
+     * Sets the bricks grid the pucks are tested against. Must be called before the first step.
+     *
+     * @param bricksController The controller holding the bricks.
+     */
+    public void setBricksController(BricksController bricksController) {
+        this.bricksController = bricksController;
+    }
+
+    /**
+     * Routes the pucks' collision sound through a mixer, requested at most once per step.
+     *
+     * @param soundMixer     The mixer playing the sound.
+     * @param collisionSound The sound played when pucks collide.
+     * @param soundPriority  The priority of the sound in the mixer.
+     */
+    public void setSoundMixer(SoundMixer soundMixer, Sound collisionSound, int soundPriority) {
+        this.soundMixer = soundMixer;
+        this.collisionSound = collisionSound;
+        this.soundPriority = soundPriority;
+    }
+
+    /**
+     * The swarm never collides through the engine, its pucks are tested by the swarm itself.
+     *
+     * @param other The other GameObject.
+     * @return Always false.
+     */
+    @Override
+    public boolean shouldCollideWith(GameObject other) {
+        return false;
+    }
+
+    /**
+     * Adds a puck to the swarm, moving at the puck speed in a direction drawn by a direction strategy.
+     * The puck is dropped when the swarm is full.
+     *
+     * @param centerX           The x coordinate of the puck's center.
+     * @param centerY           The y coordinate of the puck's center.
+     * @param directionStrategy The strategy drawing the puck's initial direction.
+     * @return True if the puck was added, false if the swarm is full.
+     */
+    public boolean spawn(float centerX, float centerY, DirectionStrategy directionStrategy) {
+        if (count == centersX.length) {
+            droppedPucks++;
+            return false;
+        }
+        Vector2 velocity = directionStrategy.drawVelocity(Puck.PUCK_SPEED);
+        centersX[count] = centerX;
+        centersY[count] = centerY;
+        velocitiesX[count] = velocity.x();
+        velocitiesY[count] = velocity.y();
+        count++;
+        spawnedPucks++;
+        return true;
+    }
+
+    /**
+     * Removes every puck from the swarm.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Starts collecting the obstacles of the coming step. Must be called before adding obstacles.
+     */
+    public void beginObstacles() {
+        obstacleCount = 0;
+    }
+
+    /**
+     * Adds a rectangular obstacle, such as a wall or a paddle, that the pucks bounce off during the coming
+     * step. Its bounds are copied, so moving it afterwards has no effect until the next step.
+     *
+     * @param obstacle The obstacle.
+     */
+    public void addObstacle(GameObject obstacle) {
+        if (obstacleCount == MAX_OBSTACLES) {
+            throw new IllegalStateException("More than " + MAX_OBSTACLES + " puck swarm obstacles");
+        }
+        Vector2 topLeft = obstacle.getTopLeftCorner();
+        Vector2 dimensions = obstacle.getDimensions();
+        int offset = obstacleCount * OBSTACLE_FIELDS;
+        obstacles[offset] = topLeft.x();
+        obstacles[offset + 1] = topLeft.y();
+        obstacles[offset + 2] = topLeft.x() + dimensions.x();
+        obstacles[offset + 3] = topLeft.y() + dimensions.y();
+        obstacleCount++;
+    }
+
+    /**
+     * Advances every puck of the swarm by a step. A puck moves along its velocity, unless the leading
+     * edge of its move along an axis enters a live brick, in which case it bounces back along that axis
+     * and hits the brick. It then bounces off the obstacles it overlaps, along the axis it overlaps them
+     * least, and leaves the swarm once it falls below the despawn height.
+     *
+     * @param deltaTime The duration of the step.
+     */
+    public void step(float deltaTime) {
+        boolean collided = false;
+        int i = 0;
+        while (i < count) {
+            float x = centersX[i];
+            float y = centersY[i];
+            float velocityX = velocitiesX[i];
+            float velocityY = velocitiesY[i];
+            float nextX = x + velocityX * deltaTime;
+            float nextY = y + velocityY * deltaTime;
+            if (nextY - radius > despawnHeight) {
+                count--;
+                centersX[i] = centersX[count];
+                centersY[i] = centersY[count];
+                velocitiesX[i] = velocitiesX[count];
+                velocitiesY[i] = velocitiesY[count];
+                continue;
+            }
+            int cellIndex = bricksController.liveCellAt(velocityX > 0 ? nextX + radius : nextX - radius, y);
+            if (cellIndex >= 0) {
+                velocityX = -velocityX;
+                nextX = x;
+                hitBrick(cellIndex);
+                collided = true;
+            }
+            cellIndex = bricksController.liveCellAt(nextX, velocityY > 0 ? nextY + radius : nextY - radius);
+            if (cellIndex >= 0) {
+                velocityY = -velocityY;
+                nextY = y;
+                hitBrick(cellIndex);
+                collided = true;
+            }
+            for (int offset = 0; offset < obstacleCount * OBSTACLE_FIELDS; offset += OBSTACLE_FIELDS) {
+                float overlapX = Math.min(nextX + radius, obstacles[offset + 2])
+                        - Math.max(nextX - radius, obstacles[offset]);
+                float overlapY = Math.min(nextY + radius, obstacles[offset + 3])
+                        - Math.max(nextY - radius, obstacles[offset + 1]);
+                if (overlapX <= 0 || overlapY <= 0) {
+                    continue;
+                }
+                float obstacleCenterX = (obstacles[offset] + obstacles[offset + 2]) * HALF;
+                float obstacleCenterY = (obstacles[offset + 1] + obstacles[offset + 3]) * HALF;
+                if (overlapX < overlapY) {
+                    float side = nextX < obstacleCenterX ? -1 : 1;
+                    velocityX = side * Math.abs(velocityX);
+                    nextX += side * overlapX;
+                } else {
+                    float side = nextY < obstacleCenterY ? -1 : 1;
+                    velocityY = side * Math.abs(velocityY);
+                    nextY += side * overlapY;
+                }
+                collided = true;
+            }
+            centersX[i] = nextX;
+            centersY[i] = nextY;
+            velocitiesX[i] = velocityX;
+            velocitiesY[i] = velocityY;
+            i++;
+        }
+        if (collided && soundMixer != null) {
+            soundMixer.request(collisionSound, soundPriority);
+        }
+    }
+
+    /**
+     * Hits the brick of a live cell, applying its collision strategy with the swarm as the hitting object.
+     *
+     * @param cellIndex The index of the cell.
+     */
+    private void hitBrick(int cellIndex) {
+        bricksController.hitCell(cellIndex, this);
+        brickHits++;
+    }
+
+    /**
+     * Returns the number of pucks currently in the swarm.
+     *
+     * @return The number of pucks.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the maximal number of pucks in the swarm.
+     *
+     * @return The swarm's capacity.
+     */
+    public int getCapacity() {
+        return centersX.length;
+    }
+
+    /**
+     * Returns the x coordinate of a puck's center.
+     *
+     * @param puck The index of the puck, below the number of pucks.
+     * @return The x coordinate, in window coordinates.
+     */
+    float getCenterX(int puck) {
+        return centersX[puck];
+    }
+
+    /**
+     * Returns the y coordinate of a puck's center.
+     *
+     * @param puck The index of the puck, below the number of pucks.
+     * @return The y coordinate, in window coordinates.
+     */
+    float getCenterY(int puck) {
+        return centersY[puck];
+    }
+
+    /**
+     * Returns the radius of the pucks.
+     *
+     * @return The radius.
+     */
+    float getRadius() {
+        return radius;
+    }
+
+    /**
+     * Returns the number of pucks added to the swarm.
+     *
+     * @return The number of spawned pucks.
+     */
+    public long getSpawnedPucks() {
+        return spawnedPucks;
+    }
+
+    /**
+     * Returns the number of pucks dropped because the swarm was full.
+     *
+     * @return The number of dropped pucks.
+     */
+    public long getDroppedPucks() {
+        return droppedPucks;
+    }
+
+    /**
+     * Returns the number of bricks hit by the swarm's pucks.
+     *
+     * @return The number of brick hits.
+     */
+    public long getBrickHits() {
+        return brickHits;
+    }
+}
@@ -0,0 +1,86 @@
+package bricker.gameobjects;
+
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws every puck of a PuckSwarm.
+ * The puck image is composited once into a sprite of a puck's size, and every puck is then drawn from the
+ * sprite, so drawing a puck takes a single draw call and allocates nothing.
+ * The swarm's bounds are given in screen coordinates, so the pucks are scaled from their window
+ * coordinates to the area the swarm is drawn on, and pucks outside the window are not drawn.
+ */
+public class PuckSwarmRenderable implements Renderable {
+
+    private static final float OPAQUE = 1;
+
+    private final PuckSwarm puckSwarm;
+    private final Renderable puckImage;
+    private final Vector2 windowDimensions;
+    private BufferedImage puckSprite;
+
+    /**
+     * Constructs a new PuckSwarmRenderable instance.
+     *
+     * @param puckSwarm        The swarm holding the pucks.
+     * @param puckImage        The renderable representing a puck.
+     * @param windowDimensions The dimensions of the game window, the screen area in view.
+     */
+    public PuckSwarmRenderable(PuckSwarm puckSwarm, Renderable puckImage, Vector2 windowDimensions) {
+        this.puckSwarm = puckSwarm;
+        this.puckImage = puckImage;
+        this.windowDimensions = windowDimensions;
+    }
+
+    /**
+     * Draws the pucks.
+     *
+     * @param g                       The graphics to draw on.
+     * @param topLeftCorner           The top-left corner of the swarm, in screen coordinates.
+     * @param dimensions              The dimensions of the swarm, in screen coordinates.
+     * @param degreesCounterClockwise Ignored, the pucks are never rotated.
+     * @param isFlippedHorizontally   Ignored, the pucks are never flipped.
+     * @param isFlippedVertically     Ignored, the pucks are never flipped.
+     * @param opaqueness              The opaqueness of the pucks.
+     */
+    @Override
+    public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                       double degreesCounterClockwise, boolean isFlippedHorizontally,
+                       boolean isFlippedVertically, double opaqueness) {
+        int count = puckSwarm.getCount();
+        if (count == 0) {
+            return;
+        }
+        float radius = puckSwarm.getRadius();
+        if (puckSprite == null) {
+            int size = Math.max(1, (int) Math.ceil(2 * radius));
+            puckSprite = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D spriteGraphics = puckSprite.createGraphics();
+            puckImage.render(spriteGraphics, Vector2.ZERO, new Vector2(size, size), 0, false, false, OPAQUE);
+            spriteGraphics.dispose();
+        }
+        Vector2 swarmDimensions = puckSwarm.getDimensions();
+        float scaleX = dimensions.x() / swarmDimensions.x();
+        float scaleY = dimensions.y() / swarmDimensions.y();
+        int width = Math.round(2 * radius * scaleX);
+        int height = Math.round(2 * radius * scaleY);
+        Composite composite = g.getComposite();
+        if (opaqueness < OPAQUE) {
+            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) opaqueness));
+        }
+        for (int i = 0; i < count; i++) {
+            int x = Math.round(topLeftCorner.x() + (puckSwarm.getCenterX(i) - radius) * scaleX);
+            int y = Math.round(topLeftCorner.y() + (puckSwarm.getCenterY(i) - radius) * scaleY);
+            if (!ViewCulledRenderable.isInView(windowDimensions, x, y, width, height)) {
+                continue;
+            }
+            g.drawImage(puckSprite, x, y, width, height, null);
+        }
+        g.setComposite(composite);
+    }
+}
@@ -14,7 +14,8 @@ import danogl.util.Vector2;
  */
 public class SpecialPaddle extends Paddle{
     private static final int MAX_COLLISION_NUM = 4;
-    private final String specialPaddleToRemove;
+    private final int specialPaddleTagId;
+    private final Despawner despawner;
     private Counter collisionsLeft;
     /**
      * Construct a new GameObject instance.
@@ -26,23 +27,24 @@ public class SpecialPaddle extends Paddle{
      * @param inputListener          handle user keyboard input.
      * @param windowDimensions       The dimensions of the game window.
      * @param wallWidth              The width of the walls on either side of the game window.
-     * @param specialPaddleToRemove  The tag associated with this paddle when it needs to be
-     *                              removed from the game.
+     * @param specialPaddleTagId     The id of the tag associated with an active special paddle.
+     * @param despawner              The despawner removing the paddle from the game.
      */
 
 
     public SpecialPaddle(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
                          UserInputListener inputListener, Vector2 windowDimensions, float wallWidth,
-                         String specialPaddleToRemove) {
+                         int specialPaddleTagId, Despawner despawner) {
         super(topLeftCorner, dimensions, renderable, inputListener, windowDimensions, wallWidth);
-        this.specialPaddleToRemove = specialPaddleToRemove;
+        this.specialPaddleTagId = specialPaddleTagId;
+        this.despawner = despawner;
         this.collisionsLeft = new Counter(MAX_COLLISION_NUM);
     }
 
     /**
      * Handles collision with special paddle events.
      * Decreases the number of collisions left for the special paddle until it needs to be removed,
-     * and sets its tag to remove tag when no collisions are left.
+     * and despawns it when no collisions are left.
      *
      * @param other     The GameObject with which the paddle collided.
      * @param collision The details of the collision.
@@ -52,7 +54,7 @@ public class SpecialPaddle extends Paddle{
         super.onCollisionEnter(other, collision);
         collisionsLeft.decrement();
         if (collisionsLeft.value() == 0){
-            this.setTag(specialPaddleToRemove);
+            despawner.despawn(this, specialPaddleTagId);
         }
     }
 
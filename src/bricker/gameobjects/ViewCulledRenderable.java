@@ -0,0 +1,78 @@
+package bricker.gameobjects;
+
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.Graphics2D;
+
+/**
+ * Draws a renderable only when it is in view.
+ * The engine hands renderables their bounds in screen coordinates, after the camera moved and zoomed them,
+ * so an object is in view exactly when its screen bounds overlap the window; objects entirely off-screen,
+ * such as most of the bricks while the camera follows the ball, skip drawing without any bookkeeping.
+ */
+public class ViewCulledRenderable implements Renderable {
+
+    private final Renderable renderable;
+    private final Vector2 windowDimensions;
+    private long culledDraws;
+
+    /**
+     * Constructs a new ViewCulledRenderable instance.
+     *
+     * @param renderable       The renderable drawn when in view.
+     * @param windowDimensions The dimensions of the game window, the screen area in view.
+     */
+    public ViewCulledRenderable(Renderable renderable, Vector2 windowDimensions) {
+        this.renderable = renderable;
+        this.windowDimensions = windowDimensions;
+    }
+
+    /**
+     * Returns whether a rectangle given in screen coordinates overlaps the window.
+     *
+     * @param windowDimensions The dimensions of the game window.
+     * @param left             The left edge of the rectangle.
+     * @param top              The top edge of the rectangle.
+     * @param width            The width of the rectangle.
+     * @param height           The height of the rectangle.
+     * @return True if the rectangle is at least partly in view.
+     */
+    static boolean isInView(Vector2 windowDimensions, float left, float top, float width, float height) {
+        return left < windowDimensions.x() && top < windowDimensions.y() && left + width > 0
+                && top + height > 0;
+    }
+
+    /**
+     * Draws the renderable, unless it is entirely outside the window.
+     *
+     * @param g                       The graphics to draw on.
+     * @param topLeftCorner           The top-left corner of the renderable, in screen coordinates.
+     * @param dimensions              The dimensions of the renderable, in screen coordinates.
+     * @param degreesCounterClockwise The rotation of the renderable.
+     * @param isFlippedHorizontally   Whether the renderable is flipped horizontally.
+     * @param isFlippedVertically     Whether the renderable is flipped vertically.
+     * @param opaqueness              The opaqueness of the renderable.
+     */
+    @Override
+    public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                       double degreesCounterClockwise, boolean isFlippedHorizontally,
+                       boolean isFlippedVertically, double opaqueness) {
+        if (!isInView(windowDimensions, topLeftCorner.x(), topLeftCorner.y(), dimensions.x(),
+                dimensions.y())) {
+            culledDraws++;
+            return;
+        }
+        renderable.render(g, topLeftCorner, dimensions, degreesCounterClockwise, isFlippedHorizontally,
+                isFlippedVertically, opaqueness);
+    }
+
+    /**
+     * Returns the number of draws skipped because the renderable was out of view.
+     *
+     * @return The number of culled draws.
+     */
+    public long getCulledDraws() {
+        return culledDraws;
+    }
+}
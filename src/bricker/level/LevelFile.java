@@ -0,0 +1,258 @@
+package bricker.level;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+/**
+ * A level layout stored in a compact binary file and read through a memory mapping.
+ * The file starts with a header of the grid's rows and columns and an optional table of strategy weights,
+ * followed by one byte per cell, row by row: EMPTY_CELL for a cell without a brick, RANDOM_CELL for a brick
+ * whose strategy is drawn when the level is built, or the code of a fixed strategy. The cells are read
+ * straight from the mapped file when the bricks are built, so loading a level of a million cells touches
+ * only a megabyte of mapped memory and allocates nothing per cell.
+ */
+public class LevelFile {
+
+    /**
+     * The code of a cell without a brick.
+     */
+    public static final byte EMPTY_CELL = 0;
+
+    /**
+     * The code of a cell whose brick's strategy is drawn randomly, using the weight table if there is one.
+     */
+    public static final byte RANDOM_CELL = (byte) 0xFF;
+
+    private static final int MAGIC = 0x42524B4C;
+    private static final int VERSION = 1;
+    private static final int CODE_MASK = 0xFF;
+    private static final int MAX_WEIGHTS = 0xFE;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES + 2;
+    private static final int GENERATE_ARGS_NUMBER = 3;
+    private static final int SEEDED_GENERATE_ARGS_NUMBER = 4;
+    private static final int DENSITY_ARGS_NUMBER = 5;
+
+    private final ByteBuffer buffer;
+    private final int bricksRow;
+    private final int bricksCol;
+    private final int[] strategyWeights;
+    private final int cellsOffset;
+
+    /**
+     * Constructs a new LevelFile instance over the bytes of a level file.
+     *
+     * @param buffer The bytes of the file.
+     * @param source The file or other origin of the bytes, for error messages.
+     * @throws IOException If the bytes are not a level file, or are truncated or corrupt.
+     */
+    private LevelFile(ByteBuffer buffer, Object source) throws IOException {
+        this.buffer = buffer;
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+            throw new IOException("Not a level file: " + source);
+        }
+        this.bricksRow = buffer.getInt();
+        this.bricksCol = buffer.getInt();
+        int weightsNum = buffer.get() & CODE_MASK;
+        if (buffer.remaining() < weightsNum * Integer.BYTES) {
+            throw new IOException("Corrupt level file: " + source);
+        }
+        if (weightsNum == 0) {
+            this.strategyWeights = null;
+        } else {
+            this.strategyWeights = new int[weightsNum];
+            for (int i = 0; i < weightsNum; i++) {
+                strategyWeights[i] = buffer.getInt();
+            }
+            if (!areValidWeights(strategyWeights)) {
+                throw new IOException("Corrupt level file: " + source);
+            }
+        }
+        this.cellsOffset = buffer.position();
+        if (bricksRow <= 0 || bricksCol <= 0 ||
+                (long) bricksRow * bricksCol != buffer.limit() - (long) cellsOffset) {
+            throw new IOException("Corrupt level file: " + source);
+        }
+    }
+
+    /**
+     * Maps a level file into memory.
+     *
+     * @param path The file.
+     * @return The level.
+     * @throws IOException If the file could not be read or is not a level file.
+     */
+    public static LevelFile map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new LevelFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), path);
+        }
+    }
+
+    /**
+     * Reads a level from the bytes of a level file held in memory, such as a level embedded in a replay.
+     *
+     * @param bytes  The bytes of the file.
+     * @param source The origin of the bytes, for error messages.
+     * @return The level.
+     * @throws IOException If the bytes are not a level file.
+     */
+    public static LevelFile wrap(byte[] bytes, Object source) throws IOException {
+        return new LevelFile(ByteBuffer.wrap(bytes), source);
+    }
+
+    /**
+     * Copies the bytes of the level file, header and cells, for writing them elsewhere.
+     *
+     * @return The bytes of the file.
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[buffer.limit()];
+        ByteBuffer view = buffer.duplicate();
+        view.clear();
+        view.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Writes a level file.
+     *
+     * @param path            The file.
+     * @param bricksRow       The number of brick rows.
+     * @param bricksCol       The number of brick columns.
+     * @param strategyWeights The weights of the strategies random cells are drawn from, indexed by strategy
+     *                        index, non-negative with a total that fits an int, or null to draw them with the
+     *                        game's default probabilities.
+     * @param cellCodes       The codes of the cells, row by row.
+     * @throws IOException If the file could not be written.
+     */
+    public static void write(Path path, int bricksRow, int bricksCol, int[] strategyWeights,
+                             byte[] cellCodes) throws IOException {
+        if (cellCodes.length != bricksRow * bricksCol || (strategyWeights != null &&
+                (strategyWeights.length > MAX_WEIGHTS || !areValidWeights(strategyWeights)))) {
+            throw new IllegalArgumentException("Invalid level layout");
+        }
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(bricksRow);
+            out.writeInt(bricksCol);
+            if (strategyWeights == null) {
+                out.writeByte(0);
+            } else {
+                out.writeByte(strategyWeights.length);
+                for (int weight : strategyWeights) {
+                    out.writeInt(weight);
+                }
+            }
+            out.write(cellCodes);
+        }
+    }
+
+    /**
+     * Returns whether strategy weights can be drawn from: none is negative and their total fits an int.
+     *
+     * @param strategyWeights The weights.
+     * @return True if the weights are valid.
+     */
+    private static boolean areValidWeights(int[] strategyWeights) {
+        long weightsTotal = 0;
+        for (int weight : strategyWeights) {
+            if (weight < 0) {
+                return false;
+            }
+            weightsTotal += weight;
+        }
+        return weightsTotal <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the code of a fixed strategy.
+     *
+     * @param strategyIndex The index of the strategy, as created by the StrategyFactory.
+     * @return The cell code.
+     */
+    public static byte strategyCode(int strategyIndex) {
+        return (byte) (strategyIndex + 1);
+    }
+
+    /**
+     * Returns the index of the fixed strategy of a cell code.
+     *
+     * @param cellCode The cell code, neither EMPTY_CELL nor RANDOM_CELL.
+     * @return The index of the strategy, as created by the StrategyFactory.
+     */
+    public static int strategyIndex(byte cellCode) {
+        return (cellCode & CODE_MASK) - 1;
+    }
+
+    /**
+     * Returns the number of brick rows.
+     *
+     * @return The number of rows.
+     */
+    public int getBricksRow() {
+        return bricksRow;
+    }
+
+    /**
+     * Returns the number of brick columns.
+     *
+     * @return The number of columns.
+     */
+    public int getBricksCol() {
+        return bricksCol;
+    }
+
+    /**
+     * Returns the weights of the strategies random cells are drawn from.
+     *
+     * @return The weights, indexed by strategy index, non-negative with a total that fits an int, or null to
+     *         use the game's default probabilities.
+     */
+    public int[] getStrategyWeights() {
+        return strategyWeights;
+    }
+
+    /**
+     * Returns the code of a cell, read from the mapped file.
+     *
+     * @param cellIndex The index of the cell, row by row.
+     * @return The cell code.
+     */
+    public byte cellCode(int cellIndex) {
+        return buffer.get(cellsOffset + cellIndex);
+    }
+
+    /**
+     * Writes a level of random cells, for trying large layouts.
+     * User arguments are the file, the number of columns and rows, and optionally a seed and the
+     * probability of a cell to hold a brick.
+     *
+     * @param args The user arguments.
+     * @throws IOException If the file could not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < GENERATE_ARGS_NUMBER) {
+            System.err.println("Usage: LevelFile <file> <cols> <rows> [seed [density]]");
+            System.exit(1);
+        }
+        int bricksCol = Integer.parseInt(args[1]);
+        int bricksRow = Integer.parseInt(args[2]);
+        SplittableRandom random = args.length >= SEEDED_GENERATE_ARGS_NUMBER ?
+                new SplittableRandom(Long.parseLong(args[3])) : new SplittableRandom();
+        double density = args.length >= DENSITY_ARGS_NUMBER ? Double.parseDouble(args[4]) : 1;
+        byte[] cellCodes = new byte[bricksRow * bricksCol];
+        for (int i = 0; i < cellCodes.length; i++) {
+            cellCodes[i] = random.nextDouble() < density ? RANDOM_CELL : EMPTY_CELL;
+        }
+        write(Paths.get(args[0]), bricksRow, bricksCol, null, cellCodes);
+    }
+}
@@ -0,0 +1,149 @@
+package bricker.main;
+
+import danogl.gui.ImageReader;
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+import danogl.gui.rendering.ImageRenderable;
+import danogl.gui.rendering.Renderable;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A process-wide cache of the game's assets.
+ * Images are decoded in parallel as soon as the program launches, while the engine is still opening the
+ * window, and every game, including games restarted with "Play Again", gets the same decoded instances.
+ * Sounds can only be read through the engine's sound reader, so each sound is read once, by the first
+ * game, and shared from then on. Images that were not preloaded are read by the engine's image reader
+ * and not cached, which keeps stand-in readers (such as the headless one) out of the cache.
+ */
+public final class AssetCache {
+
+    private static final AssetCache SHARED = new AssetCache();
+    private static final String TRANSPARENT_KEY_SUFFIX = "#transparent";
+    private static final int TRANSPARENT = 0;
+
+    private final ConcurrentMap<String, CompletableFuture<ImageRenderable>> images;
+    private final ConcurrentMap<String, Sound> sounds;
+
+    /**
+     * Constructs a new, empty AssetCache instance.
+     */
+    private AssetCache() {
+        this.images = new ConcurrentHashMap<>();
+        this.sounds = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the process-wide cache.
+     *
+     * @return The shared AssetCache instance.
+     */
+    public static AssetCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the key of an image in the cache.
+     *
+     * @param imagePath                  The path of the image file.
+     * @param topLeftPixelIsTransparency Whether the top-left pixel's color is made transparent.
+     * @return The cache key.
+     */
+    private static String imageKey(String imagePath, boolean topLeftPixelIsTransparency) {
+        return topLeftPixelIsTransparency ? imagePath + TRANSPARENT_KEY_SUFFIX : imagePath;
+    }
+
+    /**
+     * Starts decoding an image in the background. Returns immediately.
+     *
+     * @param imagePath                  The path of the image file.
+     * @param topLeftPixelIsTransparency Whether the top-left pixel's color is made transparent, like the
+     *                                   engine's image reader does.
+     */
+    public void preloadImage(String imagePath, boolean topLeftPixelIsTransparency) {
+        images.computeIfAbsent(imageKey(imagePath, topLeftPixelIsTransparency), key ->
+                CompletableFuture.supplyAsync(() -> decodeImage(imagePath, topLeftPixelIsTransparency)));
+    }
+
+    /**
+     * Decodes an image file.
+     *
+     * @param imagePath                  The path of the image file.
+     * @param topLeftPixelIsTransparency Whether the top-left pixel's color is made transparent.
+     * @return The decoded image.
+     */
+    private static ImageRenderable decodeImage(String imagePath, boolean topLeftPixelIsTransparency) {
+        BufferedImage image;
+        try {
+            image = ImageIO.read(new File(imagePath));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (image == null) {
+            throw new UncheckedIOException(new IOException("Unsupported image format: " + imagePath));
+        }
+        if (topLeftPixelIsTransparency) {
+            BufferedImage transparentImage = new BufferedImage(image.getWidth(), image.getHeight(),
+                    BufferedImage.TYPE_INT_ARGB);
+            int transparentColor = image.getRGB(0, 0);
+            for (int y = 0; y < image.getHeight(); y++) {
+                for (int x = 0; x < image.getWidth(); x++) {
+                    int color = image.getRGB(x, y);
+                    transparentImage.setRGB(x, y, color == transparentColor ? TRANSPARENT : color);
+                }
+            }
+            image = transparentImage;
+        }
+        return new ImageRenderable(image);
+    }
+
+    /**
+     * Returns an image, waiting for it if it is still being decoded.
+     * Falls back to the engine's image reader if the image was not preloaded or could not be decoded.
+     *
+     * @param imagePath                  The path of the image file.
+     * @param topLeftPixelIsTransparency Whether the top-left pixel's color is made transparent.
+     * @param imageReader                The engine's image reader.
+     * @return The image.
+     */
+    public Renderable readImage(String imagePath, boolean topLeftPixelIsTransparency,
+                                ImageReader imageReader) {
+        CompletableFuture<ImageRenderable> image = images.get(imageKey(imagePath, topLeftPixelIsTransparency));
+        if (image != null) {
+            try {
+                return image.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                images.remove(imageKey(imagePath, topLeftPixelIsTransparency), image);
+            }
+        }
+        return imageReader.readImage(imagePath, topLeftPixelIsTransparency);
+    }
+
+    /**
+     * Returns a sound, reading it with the engine's sound reader the first time it is asked for.
+     *
+     * @param soundPath   The path of the sound file.
+     * @param soundReader The engine's sound reader.
+     * @return The sound, or null if the sound reader returned none.
+     */
+    public Sound readSound(String soundPath, SoundReader soundReader) {
+        Sound sound = sounds.get(soundPath);
+        if (sound == null) {
+            sound = soundReader.readSound(soundPath);
+            if (sound != null) {
+                sounds.putIfAbsent(soundPath, sound);
+            }
+        }
+        return sound;
+    }
+}
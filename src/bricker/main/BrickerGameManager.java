@@ -2,6 +2,14 @@ package bricker.main;
 
 import bricker.brick_strategies.*;
 import bricker.gameobjects.*;
+import bricker.level.LevelFile;
+import bricker.replay.ReplayRecorder;
+import bricker.util.FrameProfiler;
+import bricker.util.GameRandom;
+import bricker.util.InputLatch;
+import bricker.util.ObservableCounter;
+import bricker.util.SoundMixer;
+import bricker.util.SweptCollision;
 import danogl.GameManager;
 import danogl.GameObject;
 import danogl.collisions.Layer;
@@ -13,7 +21,10 @@ import danogl.util.Counter;
 import danogl.util.Vector2;
 
 import java.awt.event.KeyEvent;
-import java.util.Random;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
 
 /**
  * Manages the game logic for the Bricker game.
@@ -33,7 +44,58 @@ public class BrickerGameManager extends GameManager {
     private static final int PADDLE_BUFFER = 30;
     private static final int FALLEN_HEART_BUFFER = 5;
     private static final int MAX_COLLISION_FOR_CAMERA = 4;
+    private static final float PUCK_SIZE_SCALE = 0.75F;
+    private static final int PUCK_POOL_CAPACITY = 64;
+    private static final int PUCK_POOL_PREWARM = 16;
+    private static final int HEART_POOL_CAPACITY = 16;
+    private static final int HEART_POOL_PREWARM = 4;
+    private static final int PROFILER_OVERLAY_WIDTH = 450;
+    private static final int PROFILER_OVERLAY_HEIGHT = 20;
+    private static final int PROFILER_OVERLAY_BUFFER = 50;
     private static final int USER_ARGS_NUMBER = 2;
+    private static final int SEEDED_USER_ARGS_NUMBER = 3;
+    private static final float FIXED_STEP_TOLERANCE = 0.05F;
+    private static final int MAX_FIXED_STEPS_PER_UPDATE = 8;
+    private static final float HALF = 0.5F;
+    private static final int EFFECT_QUEUE_CAPACITY = 64;
+    private static final int SOUND_VOICES = 4;
+    private static final float SOUND_VOICE_DURATION = 0.15F;
+    private static final int MAIN_BALL_SOUND_PRIORITY = 1;
+    private static final int PUCK_SOUND_PRIORITY = 0;
+    private static final int[] LATCHED_KEYS = {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_W};
+    /**
+     * The system property enabling the compact storage of the bricks, see BricksController.
+     */
+    public static final String COMPACT_BRICKS_PROPERTY = "bricker.compactBricks";
+    /**
+     * The system property enabling drawing the bricks from a cached image of the field, see BricksController.
+     */
+    public static final String CACHED_BRICKS_PROPERTY = "bricker.cachedBricks";
+    /**
+     * The system property naming a level file to play instead of a full grid of random bricks, see LevelFile.
+     */
+    public static final String LEVEL_PROPERTY = "bricker.level";
+    /**
+     * The system property turning on endless scrolling, giving the seconds between two scrolled rows.
+     */
+    public static final String ENDLESS_PROPERTY = "bricker.endless";
+    /**
+     * The system property turning on the puck swarm, giving the maximal number of pucks, see PuckSwarm.
+     */
+    public static final String PUCK_SWARM_PROPERTY = "bricker.puckSwarm";
+    /**
+     * The default duration of a fixed simulation step, in seconds.
+     */
+    public static final float DEFAULT_FIXED_TIME_STEP = 1F / 60;
+    /**
+     * The default maximal number of sub-steps a simulation step is split into to avoid tunneling, one per
+     * contact during the step and one for the rest of it.
+     */
+    public static final int DEFAULT_MAX_SUB_STEPS = 32;
+    private static final String LOAD_TIME_FORMAT = "%s: %d ms%n";
+    private static final String FIRST_FRAME_LOAD = "Time to first frame";
+    private static final String RESET_LOAD = "Reset to first frame";
+    private static final long NANOS_PER_MILLI = 1_000_000L;
     private static final int CHANGE_DIRECTION = (-1);
     private static final float SCALE_TO_CENTER = 0.5F;
     private static final String MAIN_BALL_TAG = "MainBall";
@@ -50,20 +112,24 @@ public class BrickerGameManager extends GameManager {
     private static final String BACKGROUND_PATH = "assets/DARK_BG2_small.jpeg";
     private static final String BRICK_PATH = "assets/brick.png";
     private static final String HEART_PATH = "assets/heart.png";
-    private static final String FALLEN_HEART_TO_REMOVE_TAG = "fallenHeartToRemove";
-    private static final String SPECIAL_PADDLE_TO_REMOVE_TAG = "specialPaddleToRemove";
+    private static final String SPECIAL_PADDLE_TAG = "specialPaddle";
     private static final int COUNTERS_LAYER = Layer.BACKGROUND;
     private static final int BACKGROUND_LAYER = Layer.BACKGROUND;
-    private static final int WALLS_LAYER = Layer.STATIC_OBJECTS;
+    private static final int WALLS_LAYER = CollisionMatrix.Kind.WALL.getLayer();
     private static final String PUCK_PATH = "assets/mockBall.png";
     private static final String PUCK_TAG = "puck";
+    private static final int PUCK_SWARM_LAYER = Layer.FOREGROUND;
     private final int bricksRow;
     private final int bricksCol;
+    private final long seed;
     private boolean isCameraOpen;
+    private boolean ballCollided;
+    private boolean windowClosing;
     private Counter cameraCounter;
-    private Counter lifeCounter;
-    private Counter paddleCounter;
+    private ObservableCounter lifeCounter;
+    private ObservableCounter paddleCounter;
     private Ball ball;
+    private GameObject paddle;
     private Vector2 windowDimensions;
     private ImageReader imageReader;
     private Renderable ballImage;
@@ -76,6 +142,42 @@ public class BrickerGameManager extends GameManager {
     private UserInputListener inputListener;
     private BricksController bricksController;
     private Sound collisionSound;
+    private GameObjectRegistry registry;
+    private Despawner despawner;
+    private int puckTagId;
+    private int fallenHeartTagId;
+    private int specialPaddleTagId;
+    private int[] movingObjectsTagIds;
+    private GameObjectPool<Puck> puckPool;
+    private GameObjectPool<FallenHeart> heartPool;
+    private int puckSwarmCapacity;
+    private PuckSwarm puckSwarm;
+    private GameRandom random;
+    private FrameProfiler frameProfiler;
+    private final EffectQueue effectQueue;
+    private final SoundMixer soundMixer;
+    private final CollisionMatrix collisionMatrix;
+    private final int[] kindCounts;
+    private int mainBallTagId;
+    private AssetCache assetCache;
+    private boolean reportLoadTimes;
+    private boolean awaitingFirstFrame;
+    private long resetStartNanos;
+    private boolean rerollBricksOnRestart;
+    private boolean compactBricks;
+    private LevelFile levelFile;
+    private float endlessRowInterval;
+    private boolean cachedBricks;
+    private float fixedTimeStep;
+    private int maxSubSteps;
+    private float stepAccumulator;
+    private GameObject[] walls;
+    private int[] fastObjectsTagIds;
+    private int[] paddlesTagIds;
+    private InputLatch inputLatch;
+    private StepObserver stepObserver;
+    private long stepCount;
+    private int restartCount;
 
     /**
      * Constructs a new BrickerGameManager instance with the specified window title, window dimensions,
@@ -87,37 +189,116 @@ public class BrickerGameManager extends GameManager {
      * @param bricksCol      The number of columns of bricks in the game.
      */
     public BrickerGameManager(String windowTitle, Vector2 windowDimensions, int bricksRow, int bricksCol) {
+        this(windowTitle, windowDimensions, bricksRow, bricksCol, GameRandom.randomSeed());
+    }
+
+    /**
+     * Constructs a new BrickerGameManager instance whose randomness is fully determined by a seed.
+     * The same seed always produces the same brick layout, ball launches and puck directions.
+     *
+     * @param windowTitle    The title of the game window.
+     * @param windowDimensions The dimensions of the game window.
+     * @param bricksRow      The number of rows of bricks in the game.
+     * @param bricksCol      The number of columns of bricks in the game.
+     * @param seed           The seed of the game's random source.
+     */
+    public BrickerGameManager(String windowTitle, Vector2 windowDimensions, int bricksRow, int bricksCol,
+                              long seed) {
         super(windowTitle, windowDimensions);
         this.bricksRow = bricksRow;
         this.bricksCol = bricksCol;
+        this.seed = seed;
         this.isCameraOpen = false;
+        this.frameProfiler = new FrameProfiler(false);
+        this.effectQueue = new EffectQueue(EFFECT_QUEUE_CAPACITY);
+        this.soundMixer = new SoundMixer(SOUND_VOICES, SOUND_VOICE_DURATION);
+        this.collisionMatrix = createCollisionMatrix();
+        this.kindCounts = new int[CollisionMatrix.Kind.values().length];
+        this.fixedTimeStep = DEFAULT_FIXED_TIME_STEP;
+        this.maxSubSteps = DEFAULT_MAX_SUB_STEPS;
+    }
+
+    /**
+     * Sets the profiler measuring the game's frames, shown on screen next to the life counter when enabled.
+     * Must be called before the game is initialized.
+     *
+     * @param frameProfiler The profiler.
+     * @param csvPath       A CSV file the profiler's results are written to when the program exits,
+     *                      or null.
+     */
+    public void setFrameProfiler(FrameProfiler frameProfiler, Path csvPath) {
+        this.frameProfiler = frameProfiler;
+        effectQueue.setFrameProfiler(frameProfiler);
+        if (frameProfiler.isEnabled() && csvPath != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    frameProfiler.writeCsv(csvPath);
+                } catch (IOException e) {
+                    System.err.println("Could not write frame profile to " + csvPath + ": " + e);
+                }
+            }));
+        }
     }
 
 
+    /**
+     * Declares which kinds of objects collide: every pair of kinds that can interact, as when all the moving
+     * objects shared the default layer. The ball and pucks bounce off the bricks, walls, paddles and each
+     * other, the paddles meet the walls and each other, and the fallen hearts are caught by the paddles.
+     * Only the pairs that never interact are culled: the bricks and walls, which are static, and the hearts
+     * with anything but the paddles, which they reject themselves.
+     *
+     * @return The collision matrix.
+     */
+    private static CollisionMatrix createCollisionMatrix() {
+        CollisionMatrix collisionMatrix = new CollisionMatrix();
+        for (CollisionMatrix.Kind movingKind : new CollisionMatrix.Kind[]{CollisionMatrix.Kind.BALL,
+                CollisionMatrix.Kind.PUCK}) {
+            collisionMatrix.allow(movingKind, CollisionMatrix.Kind.BRICK);
+            collisionMatrix.allow(movingKind, CollisionMatrix.Kind.WALL);
+            collisionMatrix.allow(movingKind, CollisionMatrix.Kind.PADDLE);
+            collisionMatrix.allow(movingKind, CollisionMatrix.Kind.PUCK);
+        }
+        collisionMatrix.allow(CollisionMatrix.Kind.PADDLE, CollisionMatrix.Kind.WALL);
+        collisionMatrix.allow(CollisionMatrix.Kind.PADDLE, CollisionMatrix.Kind.PADDLE);
+        collisionMatrix.allow(CollisionMatrix.Kind.HEART, CollisionMatrix.Kind.PADDLE);
+        return collisionMatrix;
+    }
+
     /**
      * Creates the ball GameObject and adds it to the game objects' collection.
      */
     private void createBall() {
         Ball ball = new Ball(Vector2.ZERO, new Vector2(BALL_SIZE, BALL_SIZE), this.ballImage,
                 this.collisionSound);
-        ball.setTag(MAIN_BALL_TAG);
+        ball.setSoundMixer(soundMixer, MAIN_BALL_SOUND_PRIORITY);
+        ball.addCollisionListener((oldValue, newValue) -> ballCollided = true);
+        registry.register(ball, mainBallTagId);
         this.ball = ball;
         resetBall();
-        this.gameObjects().addGameObject(ball);
+        this.gameObjects().addGameObject(ball, CollisionMatrix.Kind.BALL.getLayer());
     }
 
     /**
      * Creates the paddle GameObject and adds it to the game objects' collection.
      */
     private void createPaddle() {
-        paddleCounter = new Counter(1);
-        GameObject paddle = new Paddle(Vector2.ZERO, new Vector2(PADDLE_WIDTH, PADDLE_HEIGHT),
+        paddleCounter = new ObservableCounter(1);
+        this.paddle = new Paddle(Vector2.ZERO, new Vector2(PADDLE_WIDTH, PADDLE_HEIGHT),
                 this.paddleImage,
                 inputListener, windowDimensions, WALL_WIDTH);
-        paddle.setTag(BASE_PADDLE_TAG);
+        registry.register(paddle, registry.tagId(BASE_PADDLE_TAG));
+        resetPaddle();
+        gameObjects().addGameObject(paddle, CollisionMatrix.Kind.PADDLE.getLayer());
+    }
+
+    /**
+     * Places the base paddle at its initial position.
+     */
+    private void resetPaddle() {
+        paddle.setVelocity(Vector2.ZERO);
         paddle.setCenter(new Vector2(windowDimensions.x() * SCALE_TO_CENTER,
                 (int) windowDimensions.y() - PADDLE_BUFFER));
-        gameObjects().addGameObject(paddle);
     }
 
     /**
@@ -135,19 +316,50 @@ public class BrickerGameManager extends GameManager {
         GameObject upperWall = new GameObject(Vector2.ZERO, new Vector2(windowDimensions.x(), WALL_WIDTH),
                 null);
         gameObjects().addGameObject(upperWall, WALLS_LAYER);
+        this.walls = new GameObject[]{leftWall, rightWall, upperWall};
     }
 
     /**
      * Creates the background GameObject and adds it to the game objects' collection.
      */
     private void createBackground() {
-        Renderable backgroundImage = imageReader.readImage(BACKGROUND_PATH, false);
+        Renderable backgroundImage = assetCache.readImage(BACKGROUND_PATH, false, imageReader);
         GameObject background = new GameObject(Vector2.ZERO, new Vector2(windowDimensions), backgroundImage);
         background.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
         gameObjects().addGameObject(background, BACKGROUND_LAYER);
     }
 
 
+    /**
+     * Creates the pre-warmed pools for the pucks and fallen hearts spawned by the brick strategies, which
+     * the pucks and hearts return to when they despawn, and the puck swarm when it is turned on.
+     * The pooled pucks and hearts are only drawn while in view.
+     */
+    private void createPools() {
+        Renderable culledPuckImage = new ViewCulledRenderable(this.puckImage, windowDimensions);
+        Renderable culledHeartImage = new ViewCulledRenderable(this.heartImage, windowDimensions);
+        Vector2 puckDimensions = new Vector2(BALL_SIZE * PUCK_SIZE_SCALE, BALL_SIZE * PUCK_SIZE_SCALE);
+        if (puckSwarmCapacity > 0) {
+            this.puckSwarm = new PuckSwarm(windowDimensions, puckSwarmCapacity, puckDimensions.x(),
+                    this.puckImage, windowDimensions.y());
+            puckSwarm.setSoundMixer(soundMixer, this.collisionSound, PUCK_SOUND_PRIORITY);
+            gameObjects().addGameObject(puckSwarm, PUCK_SWARM_LAYER);
+        }
+        this.puckPool = new GameObjectPool<>(() -> {
+            Puck puck = new Puck(puckDimensions, culledPuckImage, this.collisionSound, despawner, puckTagId,
+                    windowDimensions.y());
+            puck.setSoundMixer(soundMixer, PUCK_SOUND_PRIORITY);
+            return puck;
+        }, PUCK_POOL_CAPACITY, PUCK_POOL_PREWARM);
+        int basePaddleTagId = registry.tagId(BASE_PADDLE_TAG);
+        this.heartPool = new GameObjectPool<>(() -> new FallenHeart(Vector2.ZERO,
+                new Vector2(HEART_SIZE, HEART_SIZE), culledHeartImage, lifeCounter, registry, basePaddleTagId,
+                fallenHeartTagId, despawner, windowDimensions.y() - FALLEN_HEART_BUFFER),
+                HEART_POOL_CAPACITY, HEART_POOL_PREWARM);
+        despawner.setListener(puckTagId, puck -> puckPool.release((Puck) puck));
+        despawner.setListener(fallenHeartTagId, heart -> heartPool.release((FallenHeart) heart));
+    }
+
     /**
      * Creates the bricks matrix using the BricksController and adds it to the game objects collection.
      */
@@ -155,13 +367,20 @@ public class BrickerGameManager extends GameManager {
         StrategiesManager strategiesManager = new StrategiesManager(this.ballImage, this.heartImage,
                 this.paddleImage, this.puckImage, this.collisionSound,
                 BALL_SIZE, PADDLE_WIDTH, PADDLE_HEIGHT, WALL_WIDTH, inputListener, windowDimensions,
-                paddleCounter, HEART_SIZE, lifeCounter, gameObjects(), this, MAIN_BALL_TAG,
-                BASE_PADDLE_TAG,
-                FALLEN_HEART_TAG, FALLEN_HEART_TO_REMOVE_TAG, SPECIAL_PADDLE_TO_REMOVE_TAG, PUCK_TAG);
+                paddleCounter, HEART_SIZE, lifeCounter, gameObjects(), registry, puckPool, heartPool, random,
+                frameProfiler, effectQueue, despawner, puckSwarm, this, MAIN_BALL_TAG,
+                BASE_PADDLE_TAG, FALLEN_HEART_TAG, SPECIAL_PADDLE_TAG, PUCK_TAG);
         float brickWidth = (windowDimensions.x() - (float) (SPACE_BETWEEN_BRICKS * (bricksCol + 1))) /
                 bricksCol;
         this.bricksController = new BricksController(this.brickImage, SPACE_BETWEEN_BRICKS, bricksRow,
-                bricksCol, brickWidth, BRICK_HEIGHT, gameObjects(), strategiesManager);
+                bricksCol, brickWidth, BRICK_HEIGHT, gameObjects(), strategiesManager,
+                compactBricks || endlessRowInterval > 0, cachedBricks, levelFile);
+        if (endlessRowInterval > 0) {
+            bricksController.enableEndlessScrolling(endlessRowInterval);
+        }
+        if (puckSwarm != null) {
+            puckSwarm.setBricksController(bricksController);
+        }
     }
 
 
@@ -169,13 +388,21 @@ public class BrickerGameManager extends GameManager {
      * Creates the numeric and graphic counters for displaying life count.
      */
     private void createCounters() {
-        TextRenderable textRenderable = new TextRenderable("");
-        GameObject numericCounter = new NumericCounter(lifeCounter, windowDimensions, textRenderable);
+        GameObject numericCounter = new NumericCounter(lifeCounter, windowDimensions);
         gameObjects().addGameObject(numericCounter, COUNTERS_LAYER);
 
         GameObject graphicCounter = new GraphicCounter(lifeCounter, BEGINNING_LIFE_NUM, heartImage,
                 windowDimensions, gameObjects(), HEART_SIZE);
         gameObjects().addGameObject(graphicCounter, COUNTERS_LAYER);
+
+        if (frameProfiler.isEnabled()) {
+            GameObject profilerOverlay = new FrameProfilerOverlay(new Vector2(
+                    windowDimensions.x() - PROFILER_OVERLAY_BUFFER - PROFILER_OVERLAY_WIDTH,
+                    windowDimensions.y() - PROFILER_OVERLAY_BUFFER + PROFILER_OVERLAY_HEIGHT / 2F),
+                    new Vector2(PROFILER_OVERLAY_WIDTH, PROFILER_OVERLAY_HEIGHT), frameProfiler,
+                    collisionMatrix, new TextRenderable(""));
+            gameObjects().addGameObject(profilerOverlay, COUNTERS_LAYER);
+        }
     }
 
     /**
@@ -191,17 +418,37 @@ public class BrickerGameManager extends GameManager {
                                UserInputListener inputListener, WindowController windowController) {
         super.initializeGame(imageReader, soundReader, inputListener, windowController);
         this.imageReader = imageReader;
-        this.collisionSound = soundReader.readSound(COLLISION_SOUND_PATH);
+        this.assetCache = AssetCache.shared();
+        this.awaitingFirstFrame = true;
+        this.collisionSound = assetCache.readSound(COLLISION_SOUND_PATH, soundReader);
         this.windowController = windowController;
         this.windowDimensions = windowController.getWindowDimensions();
-        this.inputListener = inputListener;
-        this.ballImage = imageReader.readImage(BALL_PATH, true);
-        this.brickImage = imageReader.readImage(BRICK_PATH, false);
-        this.heartImage = imageReader.readImage(HEART_PATH, true);
-        this.paddleImage = imageReader.readImage(PADDLE_PATH, true);
-        this.puckImage = imageReader.readImage(PUCK_PATH, true);
-        this.lifeCounter = new Counter(BEGINNING_LIFE_NUM);
+        this.inputLatch = new InputLatch(inputListener, LATCHED_KEYS);
+        this.inputListener = inputLatch.getListener();
+        this.ballImage = assetCache.readImage(BALL_PATH, true, imageReader);
+        this.brickImage = assetCache.readImage(BRICK_PATH, false, imageReader);
+        this.heartImage = assetCache.readImage(HEART_PATH, true, imageReader);
+        this.paddleImage = assetCache.readImage(PADDLE_PATH, true, imageReader);
+        this.puckImage = assetCache.readImage(PUCK_PATH, true, imageReader);
+        this.lifeCounter = new ObservableCounter(BEGINNING_LIFE_NUM);
         this.cameraCounter = new Counter();
+        this.random = new GameRandom(seed);
+        this.registry = new GameObjectRegistry();
+        this.mainBallTagId = registry.tagId(MAIN_BALL_TAG);
+        this.puckTagId = registry.tagId(PUCK_TAG);
+        this.fallenHeartTagId = registry.tagId(FALLEN_HEART_TAG);
+        this.specialPaddleTagId = registry.tagId(SPECIAL_PADDLE_TAG);
+        this.despawner = new Despawner(gameObjects(), registry);
+        despawner.setListener(specialPaddleTagId, specialPaddle -> paddleCounter.decrement());
+        despawner.setLayer(puckTagId, CollisionMatrix.Kind.PUCK.getLayer());
+        despawner.setLayer(fallenHeartTagId, CollisionMatrix.Kind.HEART.getLayer());
+        despawner.setLayer(specialPaddleTagId, CollisionMatrix.Kind.PADDLE.getLayer());
+        collisionMatrix.apply(gameObjects().layers(), PUCK_SWARM_LAYER);
+        this.movingObjectsTagIds = new int[]{mainBallTagId, puckTagId, registry.tagId(BASE_PADDLE_TAG),
+                specialPaddleTagId};
+        this.fastObjectsTagIds = new int[]{mainBallTagId, puckTagId};
+        this.paddlesTagIds = new int[]{registry.tagId(BASE_PADDLE_TAG), specialPaddleTagId};
+        this.stepAccumulator = 0;
 
         // create game objects
         createBall();
@@ -209,54 +456,20 @@ public class BrickerGameManager extends GameManager {
         createWalls();
         createBackground();
         createCounters();
+        createPools();
         createBricksMatrix();
     }
 
     /**
-     * Checks if the given GameObject is a special paddle and removes it from the game if it is.
-     *
-     * @param gameObject The GameObject to check.
-     */
-    private void checkSpecialPaddle(GameObject gameObject) {
-        if (gameObject.getTag().equals(SPECIAL_PADDLE_TO_REMOVE_TAG)) {
-            gameObjects().removeGameObject(gameObject);
-            paddleCounter.decrement();
-        }
-    }
-
-
-    /**
-     * Checks the limits of the puck GameObject and removes it from the game if it exceeds the window bounds.
-     *
-     * @param gameObject The puck GameObject to check.
-     */
-    private void checkPuckLimits(GameObject gameObject) {
-        if (gameObject.getTag().equals(PUCK_TAG) && gameObject.getCenter().y() > windowDimensions.y()) {
-            gameObjects().removeGameObject(gameObject);
-        }
-
-    }
-
-    /**
-     * Checks the limits of the fallen heart GameObject and removes it from the game if it exceeds the
-     * window bounds.
-     *
-     * @param gameObject The fallen heart GameObject to check.
-     */
-    private void checkForHeartLimits(GameObject gameObject) {
-        if (gameObject.getTag().equals(FALLEN_HEART_TAG)) {
-            if (gameObject.getCenter().y() > windowDimensions.y() - FALLEN_HEART_BUFFER) {
-                gameObjects().removeGameObject(gameObject);
-            }
-        } else if (gameObject.getTag().equals(FALLEN_HEART_TO_REMOVE_TAG)) {
-            gameObjects().removeGameObject(gameObject);
-        }
-    }
-
-    /**
-     * Checks if the camera should be enabled based on the ball's collision counter.
+     * Checks if the camera should be turned off based on the ball's collision counter, only after the ball
+     * collided. The camera is only turned on by a collision of the ball, so a camera turned on since the
+     * last check is noticed here too, and counts the ball's collisions from then on.
      */
     private void checkCamera() {
+        if (!ballCollided) {
+            return;
+        }
+        ballCollided = false;
         if (this.camera() != null && !isCameraOpen) {
             isCameraOpen = true;
             cameraCounter.increaseBy(ball.getCollisionCounter());
@@ -289,64 +502,657 @@ public class BrickerGameManager extends GameManager {
         if (!prompt.isEmpty()) {
             prompt += PLAY_AGAIN_MESSAGE;
             if (windowController.openYesNoDialog(prompt)) {
-                lifeCounter.reset();
-                windowController.resetGame();
+                resetStartNanos = System.nanoTime();
+                restartLevel();
             } else {
                 windowController.closeWindow();
+                windowClosing = true;
             }
         }
     }
 
+    /**
+     * Restarts the level in place, reusing every object of the current game instead of initializing a new
+     * one: the removed bricks return to the grid, the pucks, fallen hearts and special paddles are
+     * cleared, and the ball, paddle, camera and counters return to their initial state.
+     */
+    private void restartLevel() {
+        despawner.despawnAll(puckTagId);
+        despawner.despawnAll(fallenHeartTagId);
+        despawner.despawnAll(specialPaddleTagId);
+        despawner.flush();
+        if (puckSwarm != null) {
+            puckSwarm.clear();
+        }
+        paddleCounter.set(1);
+        lifeCounter.set(BEGINNING_LIFE_NUM);
+        setCamera(null);
+        cameraCounter.reset();
+        isCameraOpen = false;
+        bricksController.restoreBricks(rerollBricksOnRestart);
+        resetPaddle();
+        resetBall();
+        restartCount++;
+        awaitingFirstFrame = true;
+    }
+
     /**
      * Resets the ball's position and velocity to the initial state.
      */
     private void resetBall() {
         float ballVelX = BALL_SPEED;
         float ballVelY = BALL_SPEED;
-        Random random = new Random();
-        if (random.nextBoolean()) {
+        SplittableRandom ballRandom = random.stream(GameRandom.Stream.BALL);
+        if (ballRandom.nextBoolean()) {
             ballVelX *= CHANGE_DIRECTION;
         }
-        if (random.nextBoolean()) {
+        if (ballRandom.nextBoolean()) {
             ballVelY *= CHANGE_DIRECTION;
         }
         ball.setVelocity(new Vector2(ballVelX, ballVelY));
         ball.setCenter(windowDimensions.mult(SCALE_TO_CENTER));
     }
 
+    /**
+     * Arms the bricks that the moving objects (balls, pucks and paddles) can reach during the coming frame,
+     * so that only they are tested for collisions.
+     *
+     * @param deltaTime The duration of the coming frame.
+     */
+    private void updateBricksBroadphase(float deltaTime) {
+        bricksController.beginBroadphase();
+        for (int tagId : movingObjectsTagIds) {
+            for (GameObject movingObject : registry.objectsWithTag(tagId)) {
+                bricksController.armCellsNear(movingObject, deltaTime);
+            }
+        }
+        bricksController.endBroadphase();
+    }
+
+    /**
+     * Estimates the pairs of objects the coming engine update tests and the pairs the collision matrix
+     * culls, from the number of objects of every kind: the tracked balls, pucks, hearts and paddles, the
+     * armed bricks and the walls.
+     */
+    private void countCollisionPairs() {
+        kindCounts[CollisionMatrix.Kind.BALL.ordinal()] = registry.objectsWithTag(mainBallTagId).size();
+        kindCounts[CollisionMatrix.Kind.PUCK.ordinal()] = registry.objectsWithTag(puckTagId).size();
+        kindCounts[CollisionMatrix.Kind.HEART.ordinal()] = registry.objectsWithTag(fallenHeartTagId).size();
+        int paddles = 0;
+        for (int paddleTagId : paddlesTagIds) {
+            paddles += registry.objectsWithTag(paddleTagId).size();
+        }
+        kindCounts[CollisionMatrix.Kind.PADDLE.ordinal()] = paddles;
+        kindCounts[CollisionMatrix.Kind.BRICK.ordinal()] = bricksController.getArmedCount();
+        kindCounts[CollisionMatrix.Kind.WALL.ordinal()] = walls.length;
+        collisionMatrix.countPairs(kindCounts);
+    }
+
+    /**
+     * Moves the pucks of the puck swarm, if it is turned on, bouncing them off the walls and paddles as
+     * they are at the start of the move.
+     *
+     * @param deltaTime The duration of the move.
+     */
+    private void stepPuckSwarm(float deltaTime) {
+        if (puckSwarm == null) {
+            return;
+        }
+        puckSwarm.beginObstacles();
+        for (GameObject wall : walls) {
+            puckSwarm.addObstacle(wall);
+        }
+        for (int paddleTagId : paddlesTagIds) {
+            for (GameObject paddle : registry.objectsWithTag(paddleTagId)) {
+                puckSwarm.addObstacle(paddle);
+            }
+        }
+        puckSwarm.step(deltaTime);
+    }
+
+    /**
+     * Returns the earliest contact time of a ball or puck with a brick, wall or paddle during a move, found
+     * by sweeping each of them along its move, see SweptCollision.
+     *
+     * @param deltaTime The duration of the move.
+     * @return The earliest contact time, as a fraction of the move, or SweptCollision.NO_CONTACT.
+     */
+    private float contactTime(float deltaTime) {
+        float time = SweptCollision.NO_CONTACT;
+        for (int tagId : fastObjectsTagIds) {
+            for (GameObject fastObject : registry.objectsWithTag(tagId)) {
+                Vector2 velocity = fastObject.getVelocity();
+                Vector2 center = fastObject.getCenter();
+                Vector2 dimensions = fastObject.getDimensions();
+                float radius = Math.max(dimensions.x(), dimensions.y()) * HALF;
+                time = Math.min(time, bricksController.contactTime(center.x(), center.y(), radius,
+                        velocity.x() * deltaTime, velocity.y() * deltaTime));
+                for (GameObject wall : walls) {
+                    time = Math.min(time, contactTime(center, radius, velocity, wall, deltaTime));
+                }
+                for (int paddleTagId : paddlesTagIds) {
+                    for (GameObject paddle : registry.objectsWithTag(paddleTagId)) {
+                        time = Math.min(time, contactTime(center, radius,
+                                velocity.subtract(paddle.getVelocity()), paddle, deltaTime));
+                    }
+                }
+            }
+        }
+        return time;
+    }
+
+    /**
+     * Returns the contact time of a moving circle with an obstacle, see SweptCollision.
+     *
+     * @param center    The center of the circle before the move.
+     * @param radius    The radius of the circle.
+     * @param velocity  The velocity of the circle, relative to the obstacle.
+     * @param obstacle  The obstacle.
+     * @param deltaTime The duration of the move.
+     * @return The contact time.
+     */
+    private static float contactTime(Vector2 center, float radius, Vector2 velocity, GameObject obstacle,
+                                     float deltaTime) {
+        Vector2 topLeft = obstacle.getTopLeftCorner();
+        Vector2 dimensions = obstacle.getDimensions();
+        return SweptCollision.contactTime(center.x(), center.y(), radius, velocity.x() * deltaTime,
+                velocity.y() * deltaTime, topLeft.x(), topLeft.y(), topLeft.x() + dimensions.x(),
+                topLeft.y() + dimensions.y());
+    }
+
+    /**
+     * Sets how the game's time is advanced.
+     * With a fixed time step, the elapsed time of every update is accumulated and the game is advanced in
+     * steps of exactly that duration, so the simulation does not depend on the frame rate. Every step is
+     * further split into a sub-step per contact, as continuous collision detection requires.
+     *
+     * @param fixedTimeStep The duration of a simulation step in seconds, or 0 to advance the game by the
+     *                      elapsed time of every update.
+     * @param maxSubSteps   The maximal number of sub-steps a simulation step is split into, bounding the
+     *                      contacts per step that are guaranteed not to tunnel, at least 1.
+     * @throws IllegalArgumentException If the time step is negative or not a number, or the maximal number
+     *                                  of sub-steps is below 1.
+     */
+    public void setFixedTimeStep(float fixedTimeStep, int maxSubSteps) {
+        if (fixedTimeStep < 0 || Float.isNaN(fixedTimeStep) || maxSubSteps < 1) {
+            throw new IllegalArgumentException("Invalid time step " + fixedTimeStep + " with " + maxSubSteps
+                    + " sub-steps");
+        }
+        this.fixedTimeStep = fixedTimeStep;
+        this.maxSubSteps = maxSubSteps;
+    }
+
     /**
      * Updates the game state based on the elapsed time since the last update.
+     * With a fixed time step the game advances by whole steps, carrying the remaining time to the next
+     * update. A step due within a small tolerance is taken early, so that frames as long as the step
+     * advance by one step each instead of alternating between none and two. After a long hitch the
+     * steps beyond a maximum are dropped rather than slowing every following frame down. Once the player
+     * chose to quit, the remaining steps are not taken.
      *
      * @param deltaTime The time elapsed since the last update.
      */
     @Override
     public void update(float deltaTime) {
-        super.update(deltaTime);
+        if (awaitingFirstFrame) {
+            awaitingFirstFrame = false;
+            reportLoadTime();
+        }
+        long frameStart = frameProfiler.start();
+        collisionMatrix.beginFrame();
+        if (fixedTimeStep <= 0) {
+            simulationStep(deltaTime);
+        } else {
+            stepAccumulator += deltaTime;
+            int steps = 0;
+            while (!windowClosing && stepAccumulator >= fixedTimeStep * (1 - FIXED_STEP_TOLERANCE)) {
+                if (steps == MAX_FIXED_STEPS_PER_UPDATE) {
+                    stepAccumulator = 0;
+                    break;
+                }
+                simulationStep(fixedTimeStep);
+                stepAccumulator -= fixedTimeStep;
+                steps++;
+            }
+        }
+        frameProfiler.record(FrameProfiler.Phase.FRAME, frameStart);
+    }
+
+    /**
+     * Advances the game by a single simulation step, split into the sub-steps required to avoid tunneling.
+     * Every sub-step sweeps the balls and pucks along the rest of the step and ends at the earliest contact
+     * time, inside the contact, so the engine bounces the object there, and the next sub-step sweeps its
+     * new path. No ball or puck tunnels through a brick, wall or paddle unless the step has more contacts
+     * than the maximal number of sub-steps, whose last sub-step takes the rest of the step unswept.
+     * The keys the game reads are latched once for the whole step, the bricks scroll before it in endless
+     * mode, and the game's rules are checked and the collision sounds requested during the step mixed once
+     * at its end, so a latched key or a ball below the window ends the game, or costs a life, only once.
+     *
+     * @param deltaTime The duration of the simulation step.
+     */
+    private void simulationStep(float deltaTime) {
+        inputLatch.latch();
+        if (stepObserver != null) {
+            stepObserver.beforeStep(this, stepCount);
+        }
+        bricksController.advanceScroll(deltaTime);
+        float remaining = deltaTime;
+        for (int subSteps = 1; remaining > 0; subSteps++) {
+            float subStep = subSteps == maxSubSteps ? remaining : remaining * contactTime(remaining);
+            subStep(subStep);
+            remaining -= subStep;
+        }
+        long phaseStart = frameProfiler.start();
         checkForGameEnd();
+        phaseStart = frameProfiler.record(FrameProfiler.Phase.GAME_END, phaseStart);
         checkCamera();
+        frameProfiler.record(FrameProfiler.Phase.CAMERA, phaseStart);
+        soundMixer.mix(deltaTime);
+        if (stepObserver != null) {
+            stepObserver.afterStep(this, stepCount);
+        }
+        stepCount++;
+    }
+
+    /**
+     * Advances the game by a single sub-step: arms the reachable bricks, moves and collides all objects,
+     * moves the puck swarm, applies the effects of the brick collisions in one batch, and removes the
+     * objects that left the game.
+     *
+     * @param deltaTime The duration of the sub-step.
+     */
+    private void subStep(float deltaTime) {
+        long phaseStart = frameProfiler.start();
+        updateBricksBroadphase(deltaTime);
+        countCollisionPairs();
+        phaseStart = frameProfiler.record(FrameProfiler.Phase.BROADPHASE, phaseStart);
+        super.update(deltaTime);
+        phaseStart = frameProfiler.record(FrameProfiler.Phase.ENGINE_UPDATE, phaseStart);
+        stepPuckSwarm(deltaTime);
+        phaseStart = frameProfiler.record(FrameProfiler.Phase.PUCK_SWARM, phaseStart);
+        effectQueue.drain();
+        phaseStart = frameProfiler.record(FrameProfiler.Phase.EFFECTS, phaseStart);
+        despawner.flush();
+        frameProfiler.record(FrameProfiler.Phase.CLEANUP, phaseStart);
+    }
 
-        for (GameObject gameObject : gameObjects()) {
-            checkSpecialPaddle(gameObject);
-            checkForHeartLimits(gameObject);
-            checkPuckLimits(gameObject);
+
+    /**
+     * Prints how long it took to reach the first frame: since the program launched for the first game,
+     * and since the player chose to play again for a restarted game.
+     */
+    private void reportLoadTime() {
+        if (!reportLoadTimes) {
+            return;
+        }
+        if (resetStartNanos == 0) {
+            long launchMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+            System.out.printf(LOAD_TIME_FORMAT, FIRST_FRAME_LOAD, System.currentTimeMillis() - launchMillis);
+        } else {
+            System.out.printf(LOAD_TIME_FORMAT, RESET_LOAD,
+                    (System.nanoTime() - resetStartNanos) / NANOS_PER_MILLI);
+            resetStartNanos = 0;
         }
     }
 
+    /**
+     * Sets whether the time to the first frame, at launch and after every reset, is printed.
+     *
+     * @param reportLoadTimes Whether load times are printed.
+     */
+    public void setReportLoadTimes(boolean reportLoadTimes) {
+        this.reportLoadTimes = reportLoadTimes;
+    }
+
+    /**
+     * Starts decoding the game's images in the background, so they are ready by the time the window
+     * opens and the game is initialized.
+     */
+    private static void preloadAssets() {
+        AssetCache assetCache = AssetCache.shared();
+        assetCache.preloadImage(BACKGROUND_PATH, false);
+        assetCache.preloadImage(BALL_PATH, true);
+        assetCache.preloadImage(BRICK_PATH, false);
+        assetCache.preloadImage(HEART_PATH, true);
+        assetCache.preloadImage(PADDLE_PATH, true);
+        assetCache.preloadImage(PUCK_PATH, true);
+    }
+
+    /**
+     * Sets whether restarting the level gives every brick a new randomly chosen collision strategy.
+     * By default the restarted level keeps the layout it started with.
+     *
+     * @param rerollBricksOnRestart Whether the bricks' strategies are rolled again on restart.
+     */
+    public void setRerollBricksOnRestart(boolean rerollBricksOnRestart) {
+        this.rerollBricksOnRestart = rerollBricksOnRestart;
+    }
+
+    /**
+     * Sets whether the bricks are stored compactly, with Brick objects only for the cells the moving
+     * objects can reach. Must be called before the game is initialized.
+     *
+     * @param compactBricks Whether the bricks are stored compactly.
+     */
+    public void setCompactBricks(boolean compactBricks) {
+        this.compactBricks = compactBricks;
+    }
+
+    /**
+     * Turns on endless scrolling, where the bricks scroll down one row at a time, new rows entering at the
+     * top, see BricksController. Endless scrolling stores the bricks compactly. Must be called before the
+     * game is initialized.
+     *
+     * @param rowInterval The time, in seconds, between two scrolled rows, or 0 to keep the bricks still.
+     */
+    public void setEndlessScrolling(float rowInterval) {
+        this.endlessRowInterval = Math.max(0, rowInterval);
+    }
+
+    /**
+     * Returns the time between two scrolled rows in endless scrolling.
+     *
+     * @return The time, in seconds, or 0 if the bricks do not scroll.
+     */
+    public float getEndlessRowInterval() {
+        return endlessRowInterval;
+    }
+
+    /**
+     * Turns on the puck swarm, where the pucks spawned by the brick strategies are simulated outside the
+     * engine, see PuckSwarm. Must be called before the game is initialized.
+     *
+     * @param capacity The maximal number of pucks in the swarm, or 0 to spawn pucks as GameObjects.
+     */
+    public void setPuckSwarm(int capacity) {
+        this.puckSwarmCapacity = Math.max(0, capacity);
+    }
+
+    /**
+     * Returns the maximal number of pucks in the puck swarm.
+     *
+     * @return The swarm's capacity, or 0 if pucks are spawned as GameObjects.
+     */
+    public int getPuckSwarmCapacity() {
+        return puckSwarmCapacity;
+    }
+
+    /**
+     * Returns the puck swarm, holding its counters.
+     *
+     * @return The PuckSwarm instance, or null if the puck swarm is turned off.
+     */
+    public PuckSwarm getPuckSwarm() {
+        return puckSwarm;
+    }
+
+    /**
+     * Sets the level file whose layout the bricks are built from. The level must have the game's numbers of
+     * rows and columns. Must be called before the game is initialized.
+     *
+     * @param levelFile The level file, or null for a full grid of random bricks.
+     */
+    public void setLevelFile(LevelFile levelFile) {
+        if (levelFile != null && (levelFile.getBricksRow() != bricksRow ||
+                levelFile.getBricksCol() != bricksCol)) {
+            throw new IllegalArgumentException("The level is not " + bricksRow + "x" + bricksCol);
+        }
+        this.levelFile = levelFile;
+    }
+
+    /**
+     * Returns the level file whose layout the bricks are built from.
+     *
+     * @return The level file, or null for a full grid of random bricks.
+     */
+    public LevelFile getLevelFile() {
+        return levelFile;
+    }
+
+    /**
+     * Sets whether the bricks are drawn from a single cached image of the field, updated only where bricks
+     * are removed, instead of one by one. Must be called before the game is initialized.
+     *
+     * @param cachedBricks Whether the bricks are drawn from a cached image.
+     */
+    public void setCachedBricks(boolean cachedBricks) {
+        this.cachedBricks = cachedBricks;
+    }
+
+    /**
+     * Sets the observer notified of every simulation step.
+     *
+     * @param stepObserver The observer, or null.
+     */
+    public void setStepObserver(StepObserver stepObserver) {
+        this.stepObserver = stepObserver;
+    }
+
+    /**
+     * Returns the state of the keys the game reads, as latched for the current simulation step: the left
+     * and right arrows moving the paddles, and W winning the game.
+     *
+     * @return A bit mask of the keys, in that order from the lowest bit.
+     */
+    public int getLatchedInput() {
+        return inputLatch.getMask();
+    }
+
+    /**
+     * Returns the duration of a fixed simulation step.
+     *
+     * @return The duration in seconds, or 0 if the game advances by the elapsed time of every update.
+     */
+    public float getFixedTimeStep() {
+        return fixedTimeStep;
+    }
+
+    /**
+     * Returns the maximal number of sub-steps a simulation step is split into.
+     *
+     * @return The maximal number of sub-steps.
+     */
+    public int getMaxSubSteps() {
+        return maxSubSteps;
+    }
+
+    /**
+     * Returns the number of brick rows.
+     *
+     * @return The number of rows.
+     */
+    public int getBricksRow() {
+        return bricksRow;
+    }
+
+    /**
+     * Returns the number of brick columns.
+     *
+     * @return The number of columns.
+     */
+    public int getBricksCol() {
+        return bricksCol;
+    }
+
+    /**
+     * Returns the dimensions of the game's window, known once the game is initialized.
+     *
+     * @return The window dimensions.
+     */
+    public Vector2 getWindowDimensions() {
+        return windowDimensions;
+    }
+
+    /**
+     * Returns whether the bricks are stored compactly.
+     *
+     * @return True if the bricks are stored compactly.
+     */
+    public boolean isCompactBricks() {
+        return compactBricks;
+    }
+
+    /**
+     * Returns whether restarting the level gives every brick a new collision strategy.
+     *
+     * @return True if the bricks' strategies are rolled again on restart.
+     */
+    public boolean isRerollBricksOnRestart() {
+        return rerollBricksOnRestart;
+    }
+
+    /**
+     * Returns the main ball.
+     *
+     * @return The Ball instance.
+     */
+    public Ball getBall() {
+        return ball;
+    }
+
+    /**
+     * Returns the base paddle, controlled by the arrow keys.
+     *
+     * @return The base paddle.
+     */
+    public GameObject getPaddle() {
+        return paddle;
+    }
+
+    /**
+     * Returns the number of transient objects currently in the game: pucks, fallen hearts and special
+     * paddles.
+     *
+     * @return The number of transient objects.
+     */
+    public int getTransientObjectCount() {
+        return registry.objectsWithTag(puckTagId).size() + registry.objectsWithTag(fallenHeartTagId).size()
+                + registry.objectsWithTag(specialPaddleTagId).size();
+    }
+
+    /**
+     * Returns the queue the effects of brick collisions are deferred to, drained after every engine update.
+     *
+     * @return The EffectQueue instance.
+     */
+    public EffectQueue getEffectQueue() {
+        return effectQueue;
+    }
+
+    /**
+     * Returns the matrix declaring which kinds of objects collide, holding the estimated counts of tested
+     * and culled pairs.
+     *
+     * @return The CollisionMatrix instance.
+     */
+    public CollisionMatrix getCollisionMatrix() {
+        return collisionMatrix;
+    }
+
+    /**
+     * Returns the mixer playing the collision sounds of the balls and pucks.
+     *
+     * @return The SoundMixer instance.
+     */
+    public SoundMixer getSoundMixer() {
+        return soundMixer;
+    }
+
+    /**
+     * Returns the counter of the player's lives.
+     *
+     * @return The life counter.
+     */
+    public ObservableCounter getLifeCounter() {
+        return lifeCounter;
+    }
+
+    /**
+     * Returns the number of times the level was restarted in place, after the player chose to play again.
+     *
+     * @return The number of restarts.
+     */
+    public int getRestartCount() {
+        return restartCount;
+    }
+
+    /**
+     * Returns the controller managing the bricks of the game.
+     *
+     * @return The BricksController instance.
+     */
+    public BricksController getBricksController() {
+        return bricksController;
+    }
+
+    /**
+     * Returns the seed of the game's random source.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the pool the pucks spawned by the brick strategies are taken from.
+     *
+     * @return The puck pool, holding the hit and miss counters.
+     */
+    public GameObjectPool<Puck> getPuckPool() {
+        return puckPool;
+    }
+
+    /**
+     * Returns the pool the fallen hearts spawned by the brick strategies are taken from.
+     *
+     * @return The fallen heart pool, holding the hit and miss counters.
+     */
+    public GameObjectPool<FallenHeart> getHeartPool() {
+        return heartPool;
+    }
 
     /**
      * The main method of the game.
-     * Parses the user arguments for brick rows and columns, and initializes the game accordingly.
+     * Parses the user arguments for brick rows and columns, and optionally a seed, and initializes the game
+     * accordingly. The optional modes are read from the system properties, see GameSettings; when a level
+     * file is given by the bricker.level property, its rows and columns are used.
      *
      * @param args The user arguments.
+     * @throws IOException If the level file could not be read.
      */
-    public static void main(String[] args) {
-        if (args.length == USER_ARGS_NUMBER) {
+    public static void main(String[] args) throws IOException {
+        preloadAssets();
+        BrickerGameManager game;
+        GameSettings settings = GameSettings.fromSystemProperties();
+        LevelFile levelFile = settings.getLevelFile();
+        if (levelFile != null) {
+            long seed = args.length == SEEDED_USER_ARGS_NUMBER ? Long.parseLong(args[2]) :
+                    GameRandom.randomSeed();
+            game = new BrickerGameManager(NAME_OF_GAME, new Vector2(700, 500), levelFile.getBricksRow(),
+                    levelFile.getBricksCol(), seed);
+        } else if (args.length == SEEDED_USER_ARGS_NUMBER) {
+            int bricksCol = Integer.parseInt(args[0]);
+            int bricksRow = Integer.parseInt(args[1]);
+            long seed = Long.parseLong(args[2]);
+            game = new BrickerGameManager(NAME_OF_GAME, new Vector2(700, 500), bricksRow, bricksCol, seed);
+        } else if (args.length == USER_ARGS_NUMBER) {
             int bricksCol = Integer.parseInt(args[0]);
             int bricksRow = Integer.parseInt(args[1]);
-            new BrickerGameManager(NAME_OF_GAME, new Vector2(700, 500), bricksRow, bricksCol).run();
+            game = new BrickerGameManager(NAME_OF_GAME, new Vector2(700, 500), bricksRow, bricksCol);
         } else {
-            new BrickerGameManager(NAME_OF_GAME, new Vector2(700, 500),
-                    BRICKS_ROWS, BRICKS_COLS).run();
+            game = new BrickerGameManager(NAME_OF_GAME, new Vector2(700, 500),
+                    BRICKS_ROWS, BRICKS_COLS);
+        }
+        game.setFrameProfiler(FrameProfiler.fromSystemProperties(),
+                FrameProfiler.csvPathFromSystemProperties());
+        settings.applyTo(game);
+        game.setReportLoadTimes(true);
+        ReplayRecorder replayRecorder = ReplayRecorder.fromSystemProperties();
+        if (replayRecorder != null) {
+            game.setStepObserver(replayRecorder);
+            replayRecorder.writeOnExit();
         }
+        game.run();
     }
 }
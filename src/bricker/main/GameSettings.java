@@ -0,0 +1,80 @@
+package bricker.main;
+
+import bricker.level.LevelFile;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * The optional modes of a game, as given by the system properties of BrickerGameManager: compact and
+ * cached bricks, a level file, endless scrolling and the puck swarm.
+ * Every entry point that builds games, the windowed game and the headless simulation, reads them here and
+ * applies them with applyTo, so the same properties configure both.
+ */
+public class GameSettings {
+
+    private boolean compactBricks;
+    private boolean cachedBricks;
+    private LevelFile levelFile;
+    private float endlessRowInterval;
+    private int puckSwarmCapacity;
+
+    /**
+     * Creates the settings given by the system properties.
+     *
+     * @return The settings.
+     * @throws IOException If the level file could not be read.
+     */
+    public static GameSettings fromSystemProperties() throws IOException {
+        GameSettings settings = new GameSettings();
+        settings.compactBricks = Boolean.getBoolean(BrickerGameManager.COMPACT_BRICKS_PROPERTY);
+        settings.cachedBricks = Boolean.getBoolean(BrickerGameManager.CACHED_BRICKS_PROPERTY);
+        String levelPath = System.getProperty(BrickerGameManager.LEVEL_PROPERTY);
+        settings.levelFile = levelPath == null ? null : LevelFile.map(Paths.get(levelPath));
+        settings.endlessRowInterval = Float.parseFloat(System.getProperty(BrickerGameManager.ENDLESS_PROPERTY,
+                "0"));
+        settings.puckSwarmCapacity = Integer.getInteger(BrickerGameManager.PUCK_SWARM_PROPERTY, 0);
+        return settings;
+    }
+
+    /**
+     * Applies the settings to a game. Must be called before the game is initialized.
+     *
+     * @param game The game, with the level file's numbers of rows and columns if there is a level file.
+     */
+    public void applyTo(BrickerGameManager game) {
+        game.setCompactBricks(compactBricks);
+        game.setCachedBricks(cachedBricks);
+        game.setLevelFile(levelFile);
+        game.setEndlessScrolling(endlessRowInterval);
+        game.setPuckSwarm(puckSwarmCapacity);
+    }
+
+    /**
+     * Sets whether the bricks are stored compactly.
+     *
+     * @param compactBricks Whether the bricks are stored compactly.
+     */
+    public void setCompactBricks(boolean compactBricks) {
+        this.compactBricks = compactBricks;
+    }
+
+    /**
+     * Sets the maximal number of pucks in the puck swarm.
+     *
+     * @param puckSwarmCapacity The maximal number of pucks, or 0 to spawn pucks as GameObjects.
+     */
+    public void setPuckSwarm(int puckSwarmCapacity) {
+        this.puckSwarmCapacity = puckSwarmCapacity;
+    }
+
+    /**
+     * Returns the level file whose layout the bricks are built from, which sets the game's numbers of rows
+     * and columns.
+     *
+     * @return The level file, or null for a full grid of random bricks.
+     */
+    public LevelFile getLevelFile() {
+        return levelFile;
+    }
+}
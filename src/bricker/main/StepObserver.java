@@ -0,0 +1,23 @@
+package bricker.main;
+
+/**
+ * Observes the simulation steps of a BrickerGameManager, for example to record or verify a replay.
+ */
+public interface StepObserver {
+
+    /**
+     * Called at the start of a simulation step, after the step's input was latched.
+     *
+     * @param game The game.
+     * @param tick The index of the step, counted from the game's first step.
+     */
+    void beforeStep(BrickerGameManager game, long tick);
+
+    /**
+     * Called at the end of a simulation step.
+     *
+     * @param game The game.
+     * @param tick The index of the step, counted from the game's first step.
+     */
+    void afterStep(BrickerGameManager game, long tick);
+}
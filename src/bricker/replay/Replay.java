@@ -0,0 +1,379 @@
+package bricker.replay;
+
+import bricker.level.LevelFile;
+import bricker.main.BrickerGameManager;
+import danogl.util.Vector2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A recorded game session: everything needed to play it again, and the hashes to verify the replay with.
+ * The game is fully determined by its seed, level parameters and the keys latched at every simulation step
+ * (tick), so only these are stored, together with a hash of the game's state every few ticks.
+ * The file starts with a header of the parameters, which embeds the whole level file when the game was
+ * played from one, so the replay plays the same layout even if the level file changed or is missing since.
+ * The input follows, delta encoded as runs of ticks with
+ * the same keys, each a variable-length run length and a key mask byte, so holding a key costs nothing
+ * per tick. The state hashes come last.
+ */
+public class Replay {
+
+    private static final int MAGIC = 0x4252504C;
+    private static final int VERSION = 4;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+    private static final int VARINT_CONTINUATION = 0x80;
+    private static final int VARINT_MAX_SHIFT = 28;
+    private static final long HASH_OFFSET = 0xCBF29CE484222325L;
+    private static final long HASH_PRIME = 0x100000001B3L;
+
+    private final long seed;
+    private final int bricksRow;
+    private final int bricksCol;
+    private final Vector2 windowDimensions;
+    private final float fixedTimeStep;
+    private final int maxSubSteps;
+    private final boolean compactBricks;
+    private final boolean rerollBricksOnRestart;
+    private final float endlessRowInterval;
+    private final int puckSwarmCapacity;
+    private final LevelFile levelFile;
+    private final int hashInterval;
+    private byte[] inputs;
+    private int tickCount;
+    private long[] hashes;
+    private int hashCount;
+
+    /**
+     * Constructs a new, empty Replay instance of a game.
+     *
+     * @param game         The recorded game, already initialized.
+     * @param hashInterval The number of ticks between state hashes, at least 1.
+     * @throws IllegalArgumentException If the hash interval is below 1.
+     */
+    public Replay(BrickerGameManager game, int hashInterval) {
+        this(game.getSeed(), game.getBricksRow(), game.getBricksCol(), game.getWindowDimensions(),
+                game.getFixedTimeStep(), game.getMaxSubSteps(), game.isCompactBricks(),
+                game.isRerollBricksOnRestart(), game.getEndlessRowInterval(),
+                game.getPuckSwarmCapacity(), game.getLevelFile(), hashInterval);
+    }
+
+    /**
+     * Constructs a new, empty Replay instance.
+     *
+     * @param seed                  The seed of the game.
+     * @param bricksRow             The number of rows of bricks.
+     * @param bricksCol             The number of columns of bricks.
+     * @param windowDimensions      The dimensions of the game's window.
+     * @param fixedTimeStep         The duration of a tick.
+     * @param maxSubSteps           The maximal number of sub-steps of a tick.
+     * @param compactBricks         Whether the bricks are stored compactly.
+     * @param rerollBricksOnRestart Whether restarts roll new brick strategies.
+     * @param endlessRowInterval    The time between two scrolled rows, or 0 if the bricks do not scroll.
+     * @param puckSwarmCapacity     The maximal number of pucks in the puck swarm, or 0 without a swarm.
+     * @param levelFile             The level file the bricks are built from, or null for random bricks.
+     * @param hashInterval          The number of ticks between state hashes, at least 1.
+     * @throws IllegalArgumentException If the hash interval is below 1.
+     */
+    private Replay(long seed, int bricksRow, int bricksCol, Vector2 windowDimensions, float fixedTimeStep,
+                   int maxSubSteps, boolean compactBricks, boolean rerollBricksOnRestart,
+                   float endlessRowInterval, int puckSwarmCapacity, LevelFile levelFile,
+                   int hashInterval) {
+        if (hashInterval < 1) {
+            throw new IllegalArgumentException("Invalid hash interval " + hashInterval);
+        }
+        this.seed = seed;
+        this.bricksRow = bricksRow;
+        this.bricksCol = bricksCol;
+        this.windowDimensions = windowDimensions;
+        this.fixedTimeStep = fixedTimeStep;
+        this.maxSubSteps = maxSubSteps;
+        this.compactBricks = compactBricks;
+        this.rerollBricksOnRestart = rerollBricksOnRestart;
+        this.endlessRowInterval = endlessRowInterval;
+        this.puckSwarmCapacity = puckSwarmCapacity;
+        this.levelFile = levelFile;
+        this.hashInterval = hashInterval;
+        this.inputs = new byte[INITIAL_CAPACITY];
+        this.hashes = new long[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Computes the hash verifying a game's state: the main ball's position, the number of bricks left and
+     * the number of lives.
+     *
+     * @param game The game.
+     * @return The state hash.
+     */
+    public static long stateHash(BrickerGameManager game) {
+        Vector2 ballCenter = game.getBall().getCenter();
+        long hash = HASH_OFFSET;
+        hash = (hash ^ Float.floatToIntBits(ballCenter.x())) * HASH_PRIME;
+        hash = (hash ^ Float.floatToIntBits(ballCenter.y())) * HASH_PRIME;
+        hash = (hash ^ game.getBricksController().getBrickCounter().value()) * HASH_PRIME;
+        hash = (hash ^ game.getLifeCounter().value()) * HASH_PRIME;
+        return hash;
+    }
+
+    /**
+     * Appends the input of the next tick.
+     *
+     * @param keyMask The keys latched for the tick.
+     */
+    public void addTick(int keyMask) {
+        if (tickCount == inputs.length) {
+            inputs = Arrays.copyOf(inputs, inputs.length * 2);
+        }
+        inputs[tickCount++] = (byte) keyMask;
+    }
+
+    /**
+     * Appends the next state hash.
+     *
+     * @param hash The state hash.
+     */
+    public void addHash(long hash) {
+        if (hashCount == hashes.length) {
+            hashes = Arrays.copyOf(hashes, hashes.length * 2);
+        }
+        hashes[hashCount++] = hash;
+    }
+
+    /**
+     * Writes the replay to a file.
+     *
+     * @param path The file.
+     * @throws IOException If the file could not be written.
+     */
+    public void write(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            out.writeInt(bricksRow);
+            out.writeInt(bricksCol);
+            out.writeFloat(windowDimensions.x());
+            out.writeFloat(windowDimensions.y());
+            out.writeFloat(fixedTimeStep);
+            out.writeInt(maxSubSteps);
+            out.writeBoolean(compactBricks);
+            out.writeBoolean(rerollBricksOnRestart);
+            out.writeFloat(endlessRowInterval);
+            out.writeInt(puckSwarmCapacity);
+            byte[] level = levelFile == null ? new byte[0] : levelFile.toBytes();
+            writeVarInt(out, level.length);
+            out.write(level);
+            out.writeInt(hashInterval);
+            writeVarInt(out, tickCount);
+            int runStart = 0;
+            while (runStart < tickCount) {
+                int runEnd = runStart + 1;
+                while (runEnd < tickCount && inputs[runEnd] == inputs[runStart]) {
+                    runEnd++;
+                }
+                writeVarInt(out, runEnd - runStart);
+                out.writeByte(inputs[runStart]);
+                runStart = runEnd;
+            }
+            writeVarInt(out, hashCount);
+            for (int i = 0; i < hashCount; i++) {
+                out.writeLong(hashes[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads a replay from a file.
+     *
+     * @param path The file.
+     * @return The replay.
+     * @throws IOException If the file could not be read, is not a replay or is corrupt.
+     */
+    public static Replay read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("Not a replay file: " + path);
+            }
+            long seed = in.readLong();
+            int bricksRow = in.readInt();
+            int bricksCol = in.readInt();
+            Vector2 windowDimensions = new Vector2(in.readFloat(), in.readFloat());
+            float fixedTimeStep = in.readFloat();
+            int maxSubSteps = in.readInt();
+            boolean compactBricks = in.readBoolean();
+            boolean rerollBricksOnRestart = in.readBoolean();
+            float endlessRowInterval = in.readFloat();
+            int puckSwarmCapacity = in.readInt();
+            byte[] level = new byte[readVarInt(in)];
+            in.readFully(level);
+            LevelFile levelFile = level.length == 0 ? null : LevelFile.wrap(level, path);
+            int hashInterval = in.readInt();
+            if (bricksRow <= 0 || bricksCol <= 0 || !(fixedTimeStep >= 0) || maxSubSteps < 1
+                    || !(endlessRowInterval >= 0) || puckSwarmCapacity < 0 || hashInterval < 1) {
+                throw new IOException("Corrupt replay file: " + path);
+            }
+            Replay replay = new Replay(seed, bricksRow, bricksCol, windowDimensions, fixedTimeStep,
+                    maxSubSteps, compactBricks, rerollBricksOnRestart, endlessRowInterval, puckSwarmCapacity,
+                    levelFile, hashInterval);
+            int tickCount = readVarInt(in);
+            while (replay.tickCount < tickCount) {
+                int runLength = readVarInt(in);
+                if (runLength <= 0 || runLength > tickCount - replay.tickCount) {
+                    throw new IOException("Corrupt replay file: " + path);
+                }
+                byte keyMask = in.readByte();
+                for (int i = 0; i < runLength; i++) {
+                    replay.addTick(keyMask);
+                }
+            }
+            int hashCount = readVarInt(in);
+            for (int i = 0; i < hashCount; i++) {
+                replay.addHash(in.readLong());
+            }
+            return replay;
+        }
+    }
+
+    /**
+     * Writes a non-negative integer in as few bytes as it needs, seven bits per byte.
+     *
+     * @param out   The stream.
+     * @param value The integer.
+     * @throws IOException If the stream could not be written.
+     */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~VARINT_PAYLOAD_MASK) != 0) {
+            out.writeByte((value & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION);
+            value >>>= VARINT_PAYLOAD_BITS;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads an integer written by writeVarInt.
+     *
+     * @param in The stream.
+     * @return The integer.
+     * @throws IOException If the stream could not be read or does not hold a non-negative integer.
+     */
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > VARINT_MAX_SHIFT) {
+                throw new IOException("Corrupt variable-length integer");
+            }
+            b = in.readUnsignedByte();
+            value |= (b & VARINT_PAYLOAD_MASK) << shift;
+            shift += VARINT_PAYLOAD_BITS;
+        } while ((b & VARINT_CONTINUATION) != 0);
+        if (value < 0) {
+            throw new IOException("Corrupt variable-length integer");
+        }
+        return value;
+    }
+
+    /**
+     * Creates a game playing this replay, not initialized yet.
+     *
+     * @param windowTitle The title of the game's window.
+     * @return The game, configured like the recorded one.
+     */
+    public BrickerGameManager createGame(String windowTitle) {
+        BrickerGameManager game = new BrickerGameManager(windowTitle, windowDimensions, bricksRow, bricksCol,
+                seed);
+        game.setFixedTimeStep(fixedTimeStep, maxSubSteps);
+        game.setCompactBricks(compactBricks);
+        game.setRerollBricksOnRestart(rerollBricksOnRestart);
+        game.setEndlessScrolling(endlessRowInterval);
+        game.setPuckSwarm(puckSwarmCapacity);
+        game.setLevelFile(levelFile);
+        return game;
+    }
+
+    /**
+     * Returns the keys latched for a tick.
+     *
+     * @param tick The tick.
+     * @return The key mask.
+     */
+    public int getInput(int tick) {
+        return inputs[tick];
+    }
+
+    /**
+     * Returns the hash recorded after the tick with the given index, if a hash was recorded for it.
+     *
+     * @param tick The tick.
+     * @return True if a hash was recorded after the tick.
+     */
+    public boolean hasHashAfter(long tick) {
+        return (tick + 1) % hashInterval == 0 && (tick + 1) / hashInterval <= hashCount;
+    }
+
+    /**
+     * Returns the hash recorded after a tick.
+     *
+     * @param tick The tick, for which hasHashAfter is true.
+     * @return The state hash.
+     */
+    public long getHashAfter(long tick) {
+        return hashes[(int) ((tick + 1) / hashInterval - 1)];
+    }
+
+    /**
+     * Returns whether a hash is due after a tick.
+     *
+     * @param tick The tick.
+     * @return True if a hash is recorded after the tick.
+     */
+    public boolean isHashDueAfter(long tick) {
+        return (tick + 1) % hashInterval == 0;
+    }
+
+    /**
+     * Returns the number of ticks between state hashes.
+     *
+     * @return The hash interval.
+     */
+    public int getHashInterval() {
+        return hashInterval;
+    }
+
+    /**
+     * Returns the number of recorded ticks.
+     *
+     * @return The number of ticks.
+     */
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Returns the dimensions of the recorded game's window.
+     *
+     * @return The window dimensions.
+     */
+    public Vector2 getWindowDimensions() {
+        return windowDimensions;
+    }
+
+    /**
+     * Returns the seed of the recorded game.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
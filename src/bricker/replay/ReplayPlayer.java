@@ -0,0 +1,138 @@
+package bricker.replay;
+
+import bricker.main.BrickerGameManager;
+import bricker.main.StepObserver;
+import bricker.simulation.HeadlessEnvironment;
+import danogl.util.Vector2;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Plays a recorded Replay headlessly, as fast as the CPU allows, and verifies it against the recorded
+ * state hashes. Reports the tick the replay diverged at, or that it matched the recording.
+ */
+public class ReplayPlayer implements StepObserver {
+
+    private static final String NAME_OF_GAME = "Bricker (replay)";
+    private static final int[] REPLAYED_KEYS = {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_W};
+    private static final int NOT_DIVERGED = -1;
+    private static final double NANOS_IN_SECOND = 1e9;
+    private static final int DIVERGED_EXIT_CODE = 1;
+    private static final int USAGE_EXIT_CODE = 1;
+
+    private final Replay replay;
+    private final HeadlessEnvironment environment;
+    private final BrickerGameManager game;
+    private long divergedTick;
+    private long lastVerifiedTick;
+    private int verifiedHashes;
+
+    /**
+     * Constructs a new ReplayPlayer instance, and initializes the replayed game.
+     *
+     * @param replay The replay to play.
+     */
+    public ReplayPlayer(Replay replay) {
+        this.replay = replay;
+        this.environment = new HeadlessEnvironment(replay.getWindowDimensions(), true);
+        this.game = replay.createGame(NAME_OF_GAME);
+        this.divergedTick = NOT_DIVERGED;
+        this.lastVerifiedTick = NOT_DIVERGED;
+        game.initializeGame(environment.getImageReader(), environment.getSoundReader(),
+                environment.getInputListener(), environment.getWindowController());
+        game.setStepObserver(this);
+    }
+
+    /**
+     * Plays the replay, stopping at the first diverging hash.
+     *
+     * @return True if every recorded hash matched.
+     */
+    public boolean play() {
+        for (int tick = 0; tick < replay.getTickCount() && divergedTick == NOT_DIVERGED; tick++) {
+            int keyMask = replay.getInput(tick);
+            environment.releaseAllKeys();
+            for (int i = 0; i < REPLAYED_KEYS.length; i++) {
+                if ((keyMask & (1 << i)) != 0) {
+                    environment.setKeyPressed(REPLAYED_KEYS[i], true);
+                }
+            }
+            game.update(game.getFixedTimeStep());
+        }
+        return divergedTick == NOT_DIVERGED;
+    }
+
+    /**
+     * Does nothing, the keys were already set before the step was latched.
+     *
+     * @param game The game.
+     * @param tick The index of the step.
+     */
+    @Override
+    public void beforeStep(BrickerGameManager game, long tick) {
+    }
+
+    /**
+     * Verifies the game's state against the recorded hash, if one was recorded after the tick.
+     *
+     * @param game The game.
+     * @param tick The index of the step.
+     */
+    @Override
+    public void afterStep(BrickerGameManager game, long tick) {
+        if (!replay.hasHashAfter(tick)) {
+            return;
+        }
+        if (Replay.stateHash(game) == replay.getHashAfter(tick)) {
+            lastVerifiedTick = tick;
+            verifiedHashes++;
+        } else if (divergedTick == NOT_DIVERGED) {
+            divergedTick = tick;
+        }
+    }
+
+    /**
+     * Returns the tick after which the replay first failed its hash check.
+     *
+     * @return The tick, or -1 if the replay did not diverge.
+     */
+    public long getDivergedTick() {
+        return divergedTick;
+    }
+
+    /**
+     * Plays a replay file and prints whether it matched its recording, or where it diverged.
+     * Exits with a non-zero status if the replay diverged or the arguments are wrong.
+     *
+     * @param args The replay file.
+     * @throws IOException If the replay file could not be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: ReplayPlayer <replay file>");
+            System.exit(USAGE_EXIT_CODE);
+        }
+        Replay replay = Replay.read(Paths.get(args[0]));
+        ReplayPlayer player = new ReplayPlayer(replay);
+        long start = System.nanoTime();
+        boolean matched = player.play();
+        double seconds = (System.nanoTime() - start) / NANOS_IN_SECOND;
+        if (matched) {
+            System.out.printf("seed %d: %d ticks replayed, %d hashes matched, %.0f ticks per second%n",
+                    replay.getSeed(), replay.getTickCount(), player.verifiedHashes,
+                    replay.getTickCount() / seconds);
+            return;
+        }
+        Vector2 ballCenter = player.game.getBall().getCenter();
+        System.out.printf("seed %d: state hash after tick %d differs, the last matching one is after " +
+                        "tick %d (hash every %d ticks): the replay diverged in ticks %d..%d%n",
+                replay.getSeed(), player.divergedTick, player.lastVerifiedTick, replay.getHashInterval(),
+                player.lastVerifiedTick + 1, player.divergedTick);
+        System.out.printf("replayed state: ball at (%.3f, %.3f), %d bricks, %d lives%n", ballCenter.x(),
+                ballCenter.y(), player.game.getBricksController().getBrickCounter().value(),
+                player.game.getLifeCounter().value());
+        System.exit(DIVERGED_EXIT_CODE);
+    }
+}
@@ -0,0 +1,126 @@
+package bricker.replay;
+
+import bricker.main.BrickerGameManager;
+import bricker.main.StepObserver;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Records a game session into a Replay, written to a file when the program exits.
+ * Recording is turned on with the system property bricker.record naming the replay file, and
+ * bricker.record.hashInterval sets the number of ticks between state hashes. A hash after every tick lets
+ * the replayer name the exact tick a replay diverges at, at the cost of eight bytes per tick.
+ * The replay is written by a shutdown hook while the game thread may still be stepping, so recording and
+ * writing are synchronized on the recorder, and no tick is recorded once the replay was written.
+ */
+public class ReplayRecorder implements StepObserver {
+
+    /**
+     * The system property naming the replay file.
+     */
+    public static final String PATH_PROPERTY = "bricker.record";
+
+    /**
+     * The system property setting the number of ticks between state hashes.
+     */
+    public static final String HASH_INTERVAL_PROPERTY = "bricker.record.hashInterval";
+
+    /**
+     * The default number of ticks between state hashes, half a second of game time.
+     */
+    public static final int DEFAULT_HASH_INTERVAL = 30;
+
+    private final Path path;
+    private final int hashInterval;
+    private Replay replay;
+    private boolean written;
+
+    /**
+     * Constructs a new ReplayRecorder instance.
+     *
+     * @param path         The replay file.
+     * @param hashInterval The number of ticks between state hashes, at least 1.
+     * @throws IllegalArgumentException If the hash interval is below 1.
+     */
+    public ReplayRecorder(Path path, int hashInterval) {
+        if (hashInterval < 1) {
+            throw new IllegalArgumentException("Invalid hash interval " + hashInterval);
+        }
+        this.path = path;
+        this.hashInterval = hashInterval;
+    }
+
+    /**
+     * Creates a recorder as configured by the system properties.
+     *
+     * @return The recorder, or null if recording is not turned on.
+     * @throws IllegalArgumentException If the hash interval property is below 1.
+     */
+    public static ReplayRecorder fromSystemProperties() {
+        String path = System.getProperty(PATH_PROPERTY);
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        return new ReplayRecorder(Paths.get(path), Integer.getInteger(HASH_INTERVAL_PROPERTY,
+                DEFAULT_HASH_INTERVAL));
+    }
+
+    /**
+     * Records the keys latched for the tick. The replay is started with the game's first tick, once the
+     * game's parameters are all known.
+     *
+     * @param game The game.
+     * @param tick The index of the step.
+     */
+    @Override
+    public synchronized void beforeStep(BrickerGameManager game, long tick) {
+        if (written) {
+            return;
+        }
+        if (replay == null) {
+            replay = new Replay(game, hashInterval);
+        }
+        replay.addTick(game.getLatchedInput());
+    }
+
+    /**
+     * Records the game's state hash when it is due.
+     *
+     * @param game The game.
+     * @param tick The index of the step.
+     */
+    @Override
+    public synchronized void afterStep(BrickerGameManager game, long tick) {
+        if (written || replay == null) {
+            return;
+        }
+        if (replay.isHashDueAfter(tick)) {
+            replay.addHash(Replay.stateHash(game));
+        }
+    }
+
+    /**
+     * Writes the replay when the program exits.
+     */
+    public void writeOnExit() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::write));
+    }
+
+    /**
+     * Writes the replay recorded so far, once, and stops recording. A tick whose state hash was not
+     * recorded yet is kept without it, which the replayer accepts.
+     */
+    private synchronized void write() {
+        if (replay == null || written) {
+            return;
+        }
+        written = true;
+        try {
+            replay.write(path);
+        } catch (IOException e) {
+            System.err.println("Could not write replay to " + path + ": " + e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package bricker.simulation;
+
+import bricker.main.BrickerGameManager;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * Plays the game headlessly by steering the base paddle under the main ball with the arrow keys.
+ */
+public class Autopilot {
+
+    private static final float DEAD_ZONE = 4;
+
+    /**
+     * Presses the arrow key moving the base paddle towards the main ball, or none if the paddle is
+     * already under it.
+     *
+     * @param environment The environment the game reads its keys from.
+     * @param game        The game.
+     */
+    public void steer(HeadlessEnvironment environment, BrickerGameManager game) {
+        float ballX = game.getBall().getCenter().x();
+        float paddleX = game.getPaddle().getCenter().x();
+        environment.setKeyPressed(KeyEvent.VK_LEFT, ballX < paddleX - DEAD_ZONE);
+        environment.setKeyPressed(KeyEvent.VK_RIGHT, ballX > paddleX + DEAD_ZONE);
+    }
+}
@@ -0,0 +1,157 @@
+package bricker.simulation;
+
+import bricker.brick_strategies.EffectQueue;
+import bricker.main.BrickerGameManager;
+import bricker.util.FrameProfiler;
+import bricker.util.GameRandom;
+import bricker.util.RollingHistogram;
+import danogl.util.Vector2;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Plays many independent headless games in parallel, each with its own seed and an autopilot steering the
+ * paddle, and aggregates their statistics.
+ * The games share nothing, every one runs from start to end on a single fork-join worker and merges its
+ * statistics only when done, so the throughput grows with the number of cores.
+ * Every game ends when it is won or lost, the autopilot never plays again, or after a maximal number of
+ * frames.
+ */
+public class BatchRunner {
+
+    private static final Vector2 WINDOW_DIMENSIONS = new Vector2(700, 500);
+    private static final int DEFAULT_GAMES = 64;
+    private static final int DEFAULT_BRICKS_ROWS = 7;
+    private static final int DEFAULT_BRICKS_COLS = 8;
+    private static final long DEFAULT_MAX_FRAMES = 36_000;
+    private static final int MIN_USER_ARGS_NUMBER = 3;
+    private static final int SEEDED_USER_ARGS_NUMBER = 4;
+    private static final int THREADS_USER_ARGS_NUMBER = 5;
+    private static final double NANOS_IN_SECOND = 1e9;
+
+    private final int bricksRow;
+    private final int bricksCol;
+    private final long maxFrames;
+    private final float timeStep;
+
+    /**
+     * Constructs a new BatchRunner instance.
+     *
+     * @param bricksRow The number of rows of bricks in every game.
+     * @param bricksCol The number of columns of bricks in every game.
+     * @param maxFrames The maximal number of frames a game runs before it times out.
+     * @param timeStep  The fixed time step of every frame, in seconds.
+     */
+    public BatchRunner(int bricksRow, int bricksCol, long maxFrames, float timeStep) {
+        this.bricksRow = bricksRow;
+        this.bricksCol = bricksCol;
+        this.maxFrames = maxFrames;
+        this.timeStep = timeStep;
+    }
+
+    /**
+     * Plays a batch of games on a fork-join pool.
+     * The seeds of the games are drawn from the batch's seed, so a batch is reproducible whatever the
+     * number of threads.
+     *
+     * @param games The number of games.
+     * @param seed  The seed of the batch.
+     * @param pool  The pool the games are played on.
+     * @return The aggregated statistics.
+     * @throws InterruptedException If interrupted while waiting for the games.
+     * @throws ExecutionException   If a game failed.
+     */
+    public BatchStatistics run(int games, long seed, ForkJoinPool pool) throws InterruptedException,
+            ExecutionException {
+        long[] gameSeeds = new SplittableRandom(seed).longs(games).toArray();
+        return pool.submit(() -> IntStream.range(0, games).parallel()
+                .mapToObj(i -> playGame(gameSeeds[i]))
+                .collect(BatchStatistics::new, BatchStatistics::merge, BatchStatistics::merge)).get();
+    }
+
+    /**
+     * Plays a single game with the autopilot until it ends or times out.
+     *
+     * @param seed The seed of the game.
+     * @return The statistics of the game.
+     */
+    public BatchStatistics playGame(long seed) {
+        HeadlessSimulation simulation = new HeadlessSimulation(WINDOW_DIMENSIONS, bricksRow, bricksCol,
+                timeStep, seed);
+        FrameProfiler frameProfiler = new FrameProfiler(true);
+        simulation.setFrameProfiler(frameProfiler);
+        HeadlessEnvironment environment = simulation.getEnvironment();
+        environment.setPlayAgain(false);
+        simulation.startGame();
+        BrickerGameManager game = simulation.getGame();
+        Autopilot autopilot = new Autopilot();
+        BatchStatistics statistics = new BatchStatistics();
+        long frames = 0;
+        int peakObjects = 0;
+        boolean running = true;
+        while (running && frames < maxFrames) {
+            autopilot.steer(environment, game);
+            long frameStart = System.nanoTime();
+            running = simulation.step();
+            statistics.getFrameTimes().record(System.nanoTime() - frameStart);
+            frames++;
+            peakObjects = Math.max(peakObjects, game.getTransientObjectCount());
+        }
+        int bricksLeft = game.getBricksController().getBrickCounter().value();
+        statistics.addGame(bricksLeft <= 0, game.getLifeCounter().value() <= 0, frames * (double) timeStep,
+                frames, (long) bricksRow * bricksCol - bricksLeft, peakObjects);
+        for (Map.Entry<Class<?>, RollingHistogram> entry : frameProfiler.getStrategyHistograms().entrySet()) {
+            statistics.addStrategyTriggers(entry.getKey().getSimpleName(), entry.getValue().getTotalCount());
+        }
+        EffectQueue effectQueue = game.getEffectQueue();
+        for (EffectQueue.Kind kind : EffectQueue.Kind.values()) {
+            statistics.addEffects(kind.name(), effectQueue.getAppliedCount(kind));
+        }
+        statistics.addCollisionPairs(game.getCollisionMatrix().getTestedPairs(),
+                game.getCollisionMatrix().getCulledPairs());
+        return statistics;
+    }
+
+    /**
+     * Plays a batch of games on all cores and prints the aggregated statistics and the throughput.
+     * Optional user arguments are the number of games, bricks columns, bricks rows, a seed and the number
+     * of threads.
+     *
+     * @param args The user arguments.
+     * @throws InterruptedException If interrupted while waiting for the games.
+     * @throws ExecutionException   If a game failed.
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int games = DEFAULT_GAMES;
+        int bricksCol = DEFAULT_BRICKS_COLS;
+        int bricksRow = DEFAULT_BRICKS_ROWS;
+        long seed = GameRandom.randomSeed();
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (args.length >= MIN_USER_ARGS_NUMBER) {
+            games = Integer.parseInt(args[0]);
+            bricksCol = Integer.parseInt(args[1]);
+            bricksRow = Integer.parseInt(args[2]);
+        }
+        if (args.length >= SEEDED_USER_ARGS_NUMBER) {
+            seed = Long.parseLong(args[3]);
+        }
+        if (args.length >= THREADS_USER_ARGS_NUMBER) {
+            threads = Integer.parseInt(args[4]);
+        }
+        BatchRunner runner = new BatchRunner(bricksRow, bricksCol, DEFAULT_MAX_FRAMES,
+                HeadlessSimulation.DEFAULT_TIME_STEP);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        BatchStatistics statistics = runner.run(games, seed, pool);
+        double seconds = (System.nanoTime() - start) / NANOS_IN_SECOND;
+        pool.shutdown();
+        System.out.printf("seed %d: %d games on %d threads in %.2f s, %.1f games per second, " +
+                        "%.0f frames per second%n", seed, statistics.getGames(), threads, seconds,
+                statistics.getGames() / seconds, statistics.getFrames() / seconds);
+        statistics.print(System.out);
+    }
+}
@@ -0,0 +1,184 @@
+package bricker.simulation;
+
+import bricker.util.LogHistogram;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Statistics aggregated over a batch of headless games.
+ * Every game produces its own statistics, which are merged into the batch's, so games can be played on
+ * any number of threads without sharing anything.
+ */
+public class BatchStatistics {
+
+    private static final double P50 = 50;
+    private static final double P99 = 99;
+    private static final double NANOS_IN_MICRO = 1e3;
+
+    private final LogHistogram frameTimes;
+    private final Map<String, Long> strategyTriggers;
+    private final Map<String, Long> appliedEffects;
+    private int games;
+    private int wins;
+    private int losses;
+    private double totalGameSeconds;
+    private double shortestGameSeconds;
+    private double longestGameSeconds;
+    private long bricksDestroyed;
+    private long testedPairs;
+    private long culledPairs;
+    private long frames;
+    private int peakObjects;
+
+    /**
+     * Constructs a new, empty BatchStatistics instance.
+     */
+    public BatchStatistics() {
+        this.frameTimes = new LogHistogram();
+        this.strategyTriggers = new TreeMap<>();
+        this.appliedEffects = new TreeMap<>();
+        this.shortestGameSeconds = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Adds a finished game.
+     *
+     * @param won             Whether all the bricks were destroyed.
+     * @param lost            Whether all the lives were lost.
+     * @param gameSeconds     The duration of the game, in game time.
+     * @param frames          The number of frames the game ran.
+     * @param bricksDestroyed The number of bricks destroyed.
+     * @param peakObjects     The largest number of transient objects in the game at once.
+     */
+    public void addGame(boolean won, boolean lost, double gameSeconds, long frames, long bricksDestroyed,
+                        int peakObjects) {
+        games++;
+        wins += won ? 1 : 0;
+        losses += lost ? 1 : 0;
+        totalGameSeconds += gameSeconds;
+        shortestGameSeconds = Math.min(shortestGameSeconds, gameSeconds);
+        longestGameSeconds = Math.max(longestGameSeconds, gameSeconds);
+        this.frames += frames;
+        this.bricksDestroyed += bricksDestroyed;
+        this.peakObjects = Math.max(this.peakObjects, peakObjects);
+    }
+
+    /**
+     * Adds the triggers of a collision strategy, the effects it applied.
+     *
+     * @param strategyName The name of the strategy class.
+     * @param triggers     The number of effects the strategy applied.
+     */
+    public void addStrategyTriggers(String strategyName, long triggers) {
+        strategyTriggers.merge(strategyName, triggers, Long::sum);
+    }
+
+    /**
+     * Adds the applied effects of brick collisions of a kind.
+     *
+     * @param effectName The name of the kind of the effects.
+     * @param effects    The number of applied effects.
+     */
+    public void addEffects(String effectName, long effects) {
+        appliedEffects.merge(effectName, effects, Long::sum);
+    }
+
+    /**
+     * Adds the estimated pairs of objects the engine tested and the pairs the collision matrix culled, see
+     * CollisionMatrix.
+     *
+     * @param testedPairs The estimated number of tested pairs.
+     * @param culledPairs The estimated number of culled pairs.
+     */
+    public void addCollisionPairs(long testedPairs, long culledPairs) {
+        this.testedPairs += testedPairs;
+        this.culledPairs += culledPairs;
+    }
+
+    /**
+     * Returns the histogram the frame times are recorded into.
+     *
+     * @return The frame time histogram, in nanoseconds.
+     */
+    public LogHistogram getFrameTimes() {
+        return frameTimes;
+    }
+
+    /**
+     * Adds all the statistics of another batch to this one.
+     *
+     * @param other The other batch.
+     */
+    public void merge(BatchStatistics other) {
+        games += other.games;
+        wins += other.wins;
+        losses += other.losses;
+        totalGameSeconds += other.totalGameSeconds;
+        shortestGameSeconds = Math.min(shortestGameSeconds, other.shortestGameSeconds);
+        longestGameSeconds = Math.max(longestGameSeconds, other.longestGameSeconds);
+        frames += other.frames;
+        bricksDestroyed += other.bricksDestroyed;
+        peakObjects = Math.max(peakObjects, other.peakObjects);
+        testedPairs += other.testedPairs;
+        culledPairs += other.culledPairs;
+        frameTimes.merge(other.frameTimes);
+        for (Map.Entry<String, Long> entry : other.strategyTriggers.entrySet()) {
+            addStrategyTriggers(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, Long> entry : other.appliedEffects.entrySet()) {
+            addEffects(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Returns the number of games in the batch.
+     *
+     * @return The number of games.
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the number of frames run by all the games of the batch.
+     *
+     * @return The number of frames.
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Prints the statistics.
+     *
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "games: %d (%d won, %d lost, %d timed out)%n", games, wins, losses,
+                games - wins - losses);
+        if (games == 0) {
+            return;
+        }
+        out.printf(Locale.ROOT, "game duration: mean %.1f s, min %.1f s, max %.1f s%n",
+                totalGameSeconds / games, shortestGameSeconds, longestGameSeconds);
+        out.printf(Locale.ROOT, "bricks per second: %.2f (%d bricks destroyed)%n",
+                bricksDestroyed / totalGameSeconds, bricksDestroyed);
+        out.printf(Locale.ROOT, "peak transient objects: %d%n", peakObjects);
+        out.printf(Locale.ROOT, "frame time: p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                frameTimes.percentile(P50) / NANOS_IN_MICRO, frameTimes.percentile(P99) / NANOS_IN_MICRO,
+                frameTimes.max() / NANOS_IN_MICRO);
+        out.printf(Locale.ROOT, "estimated collision pairs per frame: %.1f tested, %.1f culled%n",
+                testedPairs / (double) frames, culledPairs / (double) frames);
+        out.println("strategy triggers:");
+        for (Map.Entry<String, Long> entry : strategyTriggers.entrySet()) {
+            out.printf(Locale.ROOT, "  %s: %d%n", entry.getKey(), entry.getValue());
+        }
+        out.println("applied effects:");
+        for (Map.Entry<String, Long> entry : appliedEffects.entrySet()) {
+            out.printf(Locale.ROOT, "  %s: %d%n", entry.getKey(), entry.getValue());
+        }
+    }
+}
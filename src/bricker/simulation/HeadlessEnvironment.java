@@ -0,0 +1,293 @@
+package bricker.simulation;
+
+import danogl.gui.ImageReader;
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+import danogl.gui.UserInputListener;
+import danogl.gui.WindowController;
+import danogl.gui.rendering.ImageRenderable;
+import danogl.util.Vector2;
+
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.BitSet;
+
+/**
+ * Stand-in engine services for running the game without a window.
+ * Provides an image reader that never touches the disk, a sound reader that returns silent sounds,
+ * a programmable input listener and a window controller that answers dialogs automatically.
+ * The input listener and window controller are dynamic proxies, so only the calls the game actually
+ * makes need to be handled, any other engine call returns a neutral default value.
+ */
+public class HeadlessEnvironment {
+
+    private static final String GET_WINDOW_DIMENSIONS = "getWindowDimensions";
+    private static final String OPEN_YES_NO_DIALOG = "openYesNoDialog";
+    private static final String RESET_GAME = "resetGame";
+    private static final String CLOSE_WINDOW = "closeWindow";
+    private static final String IS_KEY_PRESSED = "isKeyPressed";
+
+    private final Vector2 windowDimensions;
+    private final BitSet pressedKeys;
+    private final WindowController windowController;
+    private final UserInputListener inputListener;
+    private final ImageReader imageReader;
+    private final SoundReader soundReader;
+    private boolean playAgain;
+    private boolean resetRequested;
+    private boolean closeRequested;
+
+    /**
+     * Constructs a new HeadlessEnvironment instance.
+     *
+     * @param windowDimensions The dimensions the stand-in window reports.
+     * @param playAgain        The answer given to every yes/no dialog the game opens.
+     */
+    public HeadlessEnvironment(Vector2 windowDimensions, boolean playAgain) {
+        this.windowDimensions = windowDimensions;
+        this.playAgain = playAgain;
+        this.pressedKeys = new BitSet();
+        this.windowController = createProxy(WindowController.class, this::handleWindowCall);
+        this.inputListener = createProxy(UserInputListener.class, this::handleInputCall);
+        this.imageReader = new HeadlessImageReader(windowController);
+        this.soundReader = new HeadlessSoundReader(windowController);
+    }
+
+    /**
+     * Creates a proxy implementation of an engine interface.
+     *
+     * @param type    The interface to implement.
+     * @param handler The handler answering the calls.
+     * @param <T>     The type of the interface.
+     * @return The proxy instance.
+     */
+    private static <T> T createProxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Answers calls made on the stand-in window controller.
+     *
+     * @param proxy  The proxy instance.
+     * @param method The invoked method.
+     * @param args   The call arguments.
+     * @return The value returned to the caller.
+     */
+    private Object handleWindowCall(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case GET_WINDOW_DIMENSIONS:
+                return windowDimensions;
+            case OPEN_YES_NO_DIALOG:
+                return playAgain;
+            case RESET_GAME:
+                resetRequested = true;
+                return null;
+            case CLOSE_WINDOW:
+                closeRequested = true;
+                return null;
+            default:
+                return defaultValue(proxy, method, args);
+        }
+    }
+
+    /**
+     * Answers calls made on the stand-in input listener.
+     *
+     * @param proxy  The proxy instance.
+     * @param method The invoked method.
+     * @param args   The call arguments.
+     * @return The value returned to the caller.
+     */
+    private Object handleInputCall(Object proxy, Method method, Object[] args) {
+        if (method.getName().equals(IS_KEY_PRESSED)) {
+            return pressedKeys.get((Integer) args[0]);
+        }
+        return defaultValue(proxy, method, args);
+    }
+
+    /**
+     * Returns a neutral value for calls the headless environment does not care about.
+     *
+     * @param proxy  The proxy instance.
+     * @param method The invoked method.
+     * @param args   The call arguments.
+     * @return A neutral value matching the method's return type.
+     */
+    private static Object defaultValue(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return HeadlessEnvironment.class.getSimpleName();
+            default:
+                break;
+        }
+        Class<?> returnType = method.getReturnType();
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == float.class) {
+            return 0F;
+        }
+        if (returnType == double.class) {
+            return 0D;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        if (returnType == int.class) {
+            return 0;
+        }
+        if (returnType == short.class) {
+            return (short) 0;
+        }
+        if (returnType == byte.class) {
+            return (byte) 0;
+        }
+        if (returnType == char.class) {
+            return (char) 0;
+        }
+        return null;
+    }
+
+    /**
+     * Sets whether the given key is reported as pressed.
+     *
+     * @param keyCode The key code, as defined in KeyEvent.
+     * @param pressed True if the key should be reported as pressed.
+     */
+    public void setKeyPressed(int keyCode, boolean pressed) {
+        pressedKeys.set(keyCode, pressed);
+    }
+
+    /**
+     * Releases all keys.
+     */
+    public void releaseAllKeys() {
+        pressedKeys.clear();
+    }
+
+    /**
+     * Sets the answer given to every yes/no dialog.
+     *
+     * @param playAgain The answer to give.
+     */
+    public void setPlayAgain(boolean playAgain) {
+        this.playAgain = playAgain;
+    }
+
+    /**
+     * Returns whether the game asked for a reset since the last call, and clears the request.
+     *
+     * @return True if a reset was requested.
+     */
+    public boolean consumeResetRequest() {
+        boolean requested = resetRequested;
+        resetRequested = false;
+        return requested;
+    }
+
+    /**
+     * Returns whether the game asked to close the window.
+     *
+     * @return True if the window was closed.
+     */
+    public boolean isCloseRequested() {
+        return closeRequested;
+    }
+
+    /**
+     * Returns the stand-in window controller.
+     *
+     * @return The WindowController instance.
+     */
+    public WindowController getWindowController() {
+        return windowController;
+    }
+
+    /**
+     * Returns the stand-in input listener.
+     *
+     * @return The UserInputListener instance.
+     */
+    public UserInputListener getInputListener() {
+        return inputListener;
+    }
+
+    /**
+     * Returns the stand-in image reader.
+     *
+     * @return The ImageReader instance.
+     */
+    public ImageReader getImageReader() {
+        return imageReader;
+    }
+
+    /**
+     * Returns the stand-in sound reader.
+     *
+     * @return The SoundReader instance.
+     */
+    public SoundReader getSoundReader() {
+        return soundReader;
+    }
+
+    /**
+     * Image reader that hands out one shared, empty image instead of reading files.
+     */
+    private static class HeadlessImageReader extends ImageReader {
+        private final ImageRenderable emptyImage;
+
+        /**
+         * Constructs a new HeadlessImageReader instance.
+         *
+         * @param windowController The stand-in window controller.
+         */
+        HeadlessImageReader(WindowController windowController) {
+            super(windowController);
+            this.emptyImage = new ImageRenderable(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB));
+        }
+
+        /**
+         * Returns the shared empty image, ignoring the path.
+         *
+         * @param imageFilePath              Ignored.
+         * @param topLeftPixelIsTransparency Ignored.
+         * @return The shared empty image.
+         */
+        @Override
+        public ImageRenderable readImage(String imageFilePath, boolean topLeftPixelIsTransparency) {
+            return emptyImage;
+        }
+    }
+
+    /**
+     * Sound reader that never opens an audio line. Returns no sound, which the game treats as silence.
+     */
+    private static class HeadlessSoundReader extends SoundReader {
+
+        /**
+         * Constructs a new HeadlessSoundReader instance.
+         *
+         * @param windowController The stand-in window controller.
+         */
+        HeadlessSoundReader(WindowController windowController) {
+            super(windowController);
+        }
+
+        /**
+         * Returns no sound, ignoring the path.
+         *
+         * @param soundFilePath Ignored.
+         * @return null, meaning silence.
+         */
+        @Override
+        public Sound readSound(String soundFilePath) {
+            return null;
+        }
+    }
+}
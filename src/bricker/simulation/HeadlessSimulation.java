@@ -0,0 +1,249 @@
+package bricker.simulation;
+
+import bricker.level.LevelFile;
+import bricker.main.BrickerGameManager;
+import bricker.main.GameSettings;
+import bricker.util.FrameProfiler;
+import bricker.util.GameRandom;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Runs the real Bricker game loop without a window.
+ * The game is initialized with the stand-in services of a HeadlessEnvironment and then driven by a
+ * fixed time step, as fast as the CPU allows. Used for soak tests and benchmarks on machines without
+ * a display.
+ */
+public class HeadlessSimulation {
+
+    /**
+     * The default fixed time step, in seconds.
+     */
+    public static final float DEFAULT_TIME_STEP = 1F / 60;
+
+    private static final String NAME_OF_GAME = "Bricker (headless)";
+    private static final Vector2 DEFAULT_WINDOW_DIMENSIONS = new Vector2(700, 500);
+    private static final int DEFAULT_BRICKS_ROWS = 7;
+    private static final int DEFAULT_BRICKS_COLS = 8;
+    private static final int DEFAULT_FRAMES = 100_000;
+    private static final int USER_ARGS_NUMBER = 3;
+    private static final int SEEDED_USER_ARGS_NUMBER = 4;
+    private static final double NANOS_IN_SECOND = 1e9;
+
+    private final Vector2 windowDimensions;
+    private final int bricksRow;
+    private final int bricksCol;
+    private final float timeStep;
+    private final HeadlessEnvironment environment;
+    private final long seed;
+    private final SplittableRandom gameSeeds;
+    private FrameProfiler frameProfiler;
+    private GameSettings settings;
+    private BrickerGameManager game;
+    private long framesRun;
+    private int gamesStarted;
+
+    /**
+     * Constructs a new HeadlessSimulation instance.
+     *
+     * @param windowDimensions The dimensions of the simulated window.
+     * @param bricksRow        The number of rows of bricks in the game.
+     * @param bricksCol        The number of columns of bricks in the game.
+     * @param timeStep         The fixed time step passed to every update, in seconds.
+     * @param seed             The seed of the simulation. The first game uses this seed, every game
+     *                         started afterwards uses the next seed drawn from it. Games restarted by
+     *                         playing again roll new brick strategies from their own seed.
+     */
+    public HeadlessSimulation(Vector2 windowDimensions, int bricksRow, int bricksCol, float timeStep,
+                              long seed) {
+        this.windowDimensions = windowDimensions;
+        this.bricksRow = bricksRow;
+        this.bricksCol = bricksCol;
+        this.timeStep = timeStep;
+        this.seed = seed;
+        this.gameSeeds = new SplittableRandom(seed);
+        this.environment = new HeadlessEnvironment(windowDimensions, true);
+        this.frameProfiler = new FrameProfiler(false);
+        this.settings = new GameSettings();
+    }
+
+    /**
+     * Sets the profiler measuring the frames of every simulated game.
+     *
+     * @param frameProfiler The profiler.
+     */
+    public void setFrameProfiler(FrameProfiler frameProfiler) {
+        this.frameProfiler = frameProfiler;
+    }
+
+    /**
+     * Sets whether the simulated games store their bricks compactly, applied to the games started afterwards.
+     *
+     * @param compactBricks Whether the bricks are stored compactly.
+     */
+    public void setCompactBricks(boolean compactBricks) {
+        settings.setCompactBricks(compactBricks);
+    }
+
+    /**
+     * Sets the maximal number of pucks in the puck swarm of the simulated games, applied to the games started
+     * afterwards.
+     *
+     * @param puckSwarmCapacity The maximal number of pucks, or 0 to spawn pucks as GameObjects.
+     */
+    public void setPuckSwarm(int puckSwarmCapacity) {
+        settings.setPuckSwarm(puckSwarmCapacity);
+    }
+
+    /**
+     * Sets the optional modes of the simulated games, such as those given by the system properties,
+     * applied to the games started afterwards.
+     *
+     * @param settings The settings, with a level file of the simulation's numbers of rows and columns, if
+     *                 any.
+     */
+    public void setGameSettings(GameSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Creates a fresh game and initializes it the same way the engine does when opening a window.
+     * Called by the first step and whenever the game asks for a reset, may also be called directly to
+     * build a game without running it.
+     */
+    public void startGame() {
+        if (game != null) {
+            gamesStarted += game.getRestartCount();
+        }
+        long gameSeed = gamesStarted == 0 ? seed : gameSeeds.nextLong();
+        game = new BrickerGameManager(NAME_OF_GAME, windowDimensions, bricksRow, bricksCol, gameSeed);
+        game.setFrameProfiler(frameProfiler, null);
+        game.setRerollBricksOnRestart(true);
+        settings.applyTo(game);
+        game.setFixedTimeStep(timeStep, BrickerGameManager.DEFAULT_MAX_SUB_STEPS);
+        game.initializeGame(environment.getImageReader(), environment.getSoundReader(),
+                environment.getInputListener(), environment.getWindowController());
+        gamesStarted++;
+    }
+
+    /**
+     * Advances the game by a single fixed time step.
+     * Restarts the game if the previous step asked for a reset.
+     *
+     * @return False if the game asked to close the window, otherwise true.
+     */
+    public boolean step() {
+        if (environment.isCloseRequested()) {
+            return false;
+        }
+        if (game == null || environment.consumeResetRequest()) {
+            startGame();
+        }
+        game.update(timeStep);
+        framesRun++;
+        return !environment.isCloseRequested();
+    }
+
+    /**
+     * Advances the game by the given number of fixed time steps, or until the game closes its window.
+     *
+     * @param frames The maximal number of frames to run.
+     * @return The number of frames actually run.
+     */
+    public long run(long frames) {
+        long ran = 0;
+        while (ran < frames && step()) {
+            ran++;
+        }
+        return ran;
+    }
+
+    /**
+     * Returns the environment providing the stand-in engine services.
+     *
+     * @return The HeadlessEnvironment instance.
+     */
+    public HeadlessEnvironment getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * Returns the game currently being simulated.
+     *
+     * @return The current BrickerGameManager, or null before the first step.
+     */
+    public BrickerGameManager getGame() {
+        return game;
+    }
+
+    /**
+     * Returns the total number of frames run so far.
+     *
+     * @return The number of frames.
+     */
+    public long getFramesRun() {
+        return framesRun;
+    }
+
+    /**
+     * Returns the number of games started so far, including restarts.
+     *
+     * @return The number of games.
+     */
+    public int getGamesStarted() {
+        return game == null ? gamesStarted : gamesStarted + game.getRestartCount();
+    }
+
+    /**
+     * Runs a headless soak test and prints the achieved frame rate.
+     * Optional user arguments are bricks columns, bricks rows, number of frames and a seed.
+     * The frame profiler and the game's optional modes are configured by the same system properties as the
+     * game, see GameSettings; when a level file is given, its rows and columns are used.
+     *
+     * @param args The user arguments.
+     * @throws IOException If the level file could not be read or the frame profile could not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        int bricksCol = DEFAULT_BRICKS_COLS;
+        int bricksRow = DEFAULT_BRICKS_ROWS;
+        long frames = DEFAULT_FRAMES;
+        long seed = GameRandom.randomSeed();
+        if (args.length == USER_ARGS_NUMBER || args.length == SEEDED_USER_ARGS_NUMBER) {
+            bricksCol = Integer.parseInt(args[0]);
+            bricksRow = Integer.parseInt(args[1]);
+            frames = Long.parseLong(args[2]);
+        }
+        if (args.length == SEEDED_USER_ARGS_NUMBER) {
+            seed = Long.parseLong(args[3]);
+        }
+        GameSettings settings = GameSettings.fromSystemProperties();
+        LevelFile levelFile = settings.getLevelFile();
+        if (levelFile != null) {
+            bricksCol = levelFile.getBricksCol();
+            bricksRow = levelFile.getBricksRow();
+        }
+        HeadlessSimulation simulation = new HeadlessSimulation(DEFAULT_WINDOW_DIMENSIONS, bricksRow,
+                bricksCol, DEFAULT_TIME_STEP, seed);
+        FrameProfiler frameProfiler = FrameProfiler.fromSystemProperties();
+        simulation.setFrameProfiler(frameProfiler);
+        simulation.setGameSettings(settings);
+        long start = System.nanoTime();
+        long ran = simulation.run(frames);
+        double seconds = (System.nanoTime() - start) / NANOS_IN_SECOND;
+        System.out.printf("seed %d: %d frames, %d games, %.3f s, %.0f frames per second%n", seed, ran,
+                simulation.getGamesStarted(), seconds, ran / seconds);
+        BrickerGameManager game = simulation.getGame();
+        if (game != null) {
+            System.out.printf("puck pool: %d hits, %d misses; heart pool: %d hits, %d misses%n",
+                    game.getPuckPool().getHits(), game.getPuckPool().getMisses(),
+                    game.getHeartPool().getHits(), game.getHeartPool().getMisses());
+        }
+        Path csvPath = FrameProfiler.csvPathFromSystemProperties();
+        if (frameProfiler.isEnabled() && csvPath != null) {
+            frameProfiler.writeCsv(csvPath);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package bricker.util;
+
+/**
+ * Listens to the changes of an ObservableCounter.
+ */
+public interface CounterListener {
+
+    /**
+     * Called after the counter's value changed.
+     *
+     * @param oldValue The value before the change.
+     * @param newValue The value after the change.
+     */
+    void onCounterChanged(int oldValue, int newValue);
+}
@@ -0,0 +1,207 @@
+package bricker.util;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Measures where the time of a frame goes.
+ * Every phase of the game's update, and every collision strategy class, has its own rolling histogram of
+ * durations; a strategy's histogram measures the application of its queued effects, see EffectQueue.
+ * A disabled profiler never reads the clock, so leaving the calls in the frame costs a branch.
+ * Profiling is turned on with the system property bricker.profile=true, and bricker.profile.csv names the
+ * file the results are written to when the game exits.
+ */
+public class FrameProfiler {
+
+    /**
+     * The system property enabling profiling.
+     */
+    public static final String ENABLED_PROPERTY = "bricker.profile";
+
+    /**
+     * The system property naming the CSV file written on exit.
+     */
+    public static final String CSV_PROPERTY = "bricker.profile.csv";
+
+    /**
+     * The measured phases of a frame.
+     */
+    public enum Phase {
+        /**
+         * Arming the bricks near moving objects.
+         */
+        BROADPHASE,
+        /**
+         * The engine's update: physics, object updates and collisions.
+         */
+        ENGINE_UPDATE,
+        /**
+         * Moving the pucks of the puck swarm and testing them against the bricks, walls and paddles.
+         */
+        PUCK_SWARM,
+        /**
+         * Applying the effects of the step's brick collisions.
+         */
+        EFFECTS,
+        /**
+         * Checking whether the game ended.
+         */
+        GAME_END,
+        /**
+         * Checking whether the camera should be turned off.
+         */
+        CAMERA,
+        /**
+         * Removing transient objects that left the game.
+         */
+        CLEANUP,
+        /**
+         * The whole frame.
+         */
+        FRAME
+    }
+
+    private static final int WINDOW_SIZE = 1024;
+    private static final double P50 = 50;
+    private static final double P99 = 99;
+    private static final double NANOS_IN_MICRO = 1e3;
+    private static final String CSV_HEADER = "name,samples,p50_us,p99_us,max_us";
+    private static final String CSV_ROW = "%s,%d,%.1f,%.1f,%.1f%n";
+
+    private final boolean enabled;
+    private final RollingHistogram[] phaseHistograms;
+    private final Map<Class<?>, RollingHistogram> strategyHistograms;
+
+    /**
+     * Constructs a new FrameProfiler instance.
+     *
+     * @param enabled Whether to measure anything at all.
+     */
+    public FrameProfiler(boolean enabled) {
+        this.enabled = enabled;
+        this.phaseHistograms = new RollingHistogram[Phase.values().length];
+        for (Phase phase : Phase.values()) {
+            phaseHistograms[phase.ordinal()] = new RollingHistogram(WINDOW_SIZE);
+        }
+        this.strategyHistograms = new LinkedHashMap<>();
+    }
+
+    /**
+     * Creates a profiler, enabled if the enabling system property is set to true.
+     *
+     * @return The FrameProfiler instance.
+     */
+    public static FrameProfiler fromSystemProperties() {
+        return new FrameProfiler(Boolean.getBoolean(ENABLED_PROPERTY));
+    }
+
+    /**
+     * Returns the CSV file named by the system properties.
+     *
+     * @return The path of the CSV file, or null if none was given.
+     */
+    public static Path csvPathFromSystemProperties() {
+        String csvPath = System.getProperty(CSV_PROPERTY);
+        return csvPath == null ? null : Paths.get(csvPath);
+    }
+
+    /**
+     * Returns whether the profiler measures anything.
+     *
+     * @return True if enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reads the clock at the start of a phase.
+     *
+     * @return The current time in nanoseconds, or 0 if disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the duration of a phase that started at the given time.
+     *
+     * @param phase      The phase.
+     * @param phaseStart The start time of the phase, as returned by start or by the previous record.
+     * @return The current time, to be used as the start of the next phase, or 0 if disabled.
+     */
+    public long record(Phase phase, long phaseStart) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        phaseHistograms[phase.ordinal()].record(now - phaseStart);
+        return now;
+    }
+
+    /**
+     * Returns the histogram of the given phase.
+     *
+     * @param phase The phase.
+     * @return The phase's histogram of durations, in nanoseconds.
+     */
+    public RollingHistogram phaseHistogram(Phase phase) {
+        return phaseHistograms[phase.ordinal()];
+    }
+
+    /**
+     * Returns the histogram of the given collision strategy class, creating it on first use.
+     *
+     * @param strategyClass The collision strategy class.
+     * @return The class' histogram of the durations of its applied effects, in nanoseconds.
+     */
+    public RollingHistogram strategyHistogram(Class<?> strategyClass) {
+        return strategyHistograms.computeIfAbsent(strategyClass, key -> new RollingHistogram(WINDOW_SIZE));
+    }
+
+    /**
+     * Returns the histograms of every collision strategy class measured so far.
+     *
+     * @return An unmodifiable view of the histograms, by strategy class.
+     */
+    public Map<Class<?>, RollingHistogram> getStrategyHistograms() {
+        return Collections.unmodifiableMap(strategyHistograms);
+    }
+
+    /**
+     * Writes the p50, p99 and maximum of every phase and strategy class to a CSV file.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file could not be written.
+     */
+    public void writeCsv(Path path) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+            writer.println(CSV_HEADER);
+            for (Phase phase : Phase.values()) {
+                writeCsvRow(writer, phase.name(), phaseHistograms[phase.ordinal()]);
+            }
+            for (Map.Entry<Class<?>, RollingHistogram> entry : strategyHistograms.entrySet()) {
+                writeCsvRow(writer, entry.getKey().getSimpleName(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Writes a single CSV row.
+     *
+     * @param writer    The CSV writer.
+     * @param name      The name of the measured phase or class.
+     * @param histogram The histogram of the measured phase or class.
+     */
+    private static void writeCsvRow(PrintWriter writer, String name, RollingHistogram histogram) {
+        writer.printf(Locale.ROOT, CSV_ROW, name, histogram.getTotalCount(), histogram.percentile(P50) / NANOS_IN_MICRO,
+                histogram.percentile(P99) / NANOS_IN_MICRO, histogram.max() / NANOS_IN_MICRO);
+    }
+}
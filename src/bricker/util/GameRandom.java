@@ -0,0 +1,88 @@
+package bricker.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * The single source of randomness of a game.
+ * Built from one seed, it holds an independent random stream per subsystem, so the same seed always
+ * produces the same brick layout, ball launches and puck directions, and randomness used by one subsystem
+ * never shifts the values seen by another. Subsystems that need further independent streams, such as level
+ * generation of big grids, can fork them from their own stream.
+ */
+public class GameRandom {
+
+    /**
+     * The subsystems owning an independent random stream.
+     */
+    public enum Stream {
+        /**
+         * Level generation: brick strategies and their combinations.
+         */
+        LEVEL,
+        /**
+         * Launch direction of the main ball.
+         */
+        BALL,
+        /**
+         * Initial directions of the pucks.
+         */
+        PUCKS
+    }
+
+    private final long seed;
+    private final SplittableRandom[] streams;
+
+    /**
+     * Constructs a new GameRandom instance.
+     *
+     * @param seed The seed of the game.
+     */
+    public GameRandom(long seed) {
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        Stream[] subsystems = Stream.values();
+        this.streams = new SplittableRandom[subsystems.length];
+        for (Stream subsystem : subsystems) {
+            streams[subsystem.ordinal()] = root.split();
+        }
+    }
+
+    /**
+     * Creates a seed for a game that should not be reproduced on purpose.
+     *
+     * @return A random seed.
+     */
+    public static long randomSeed() {
+        return new SplittableRandom().nextLong();
+    }
+
+    /**
+     * Returns the random stream of the given subsystem.
+     *
+     * @param subsystem The subsystem.
+     * @return The subsystem's stream.
+     */
+    public SplittableRandom stream(Stream subsystem) {
+        return streams[subsystem.ordinal()];
+    }
+
+    /**
+     * Forks a new stream from the given subsystem's stream. The forked stream is independent of the
+     * subsystem's stream and of any other fork, and is fully determined by the seed and the fork order.
+     *
+     * @param subsystem The subsystem.
+     * @return A new independent stream.
+     */
+    public SplittableRandom fork(Stream subsystem) {
+        return streams[subsystem.ordinal()].split();
+    }
+
+    /**
+     * Returns the seed of the game.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
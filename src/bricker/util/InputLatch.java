@@ -0,0 +1,106 @@
+package bricker.util;
+
+import danogl.gui.UserInputListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Freezes the state of a few keys for the duration of a simulation step.
+ * The engine's input listener reflects the keyboard as it changes, so two reads of the same key within a
+ * step may disagree. The latch reads the tracked keys once, at the start of the step, and hands out a
+ * listener answering every read of them from that snapshot, which makes a step's input a single value that
+ * can be recorded and replayed. Every other call is passed to the engine's listener.
+ */
+public class InputLatch {
+
+    private static final String IS_KEY_PRESSED = "isKeyPressed";
+
+    private final UserInputListener source;
+    private final int[] keys;
+    private final UserInputListener listener;
+    private int mask;
+
+    /**
+     * Constructs a new InputLatch instance. No key is pressed until the first latch.
+     *
+     * @param source The engine's input listener.
+     * @param keys   The key codes to track, at most 32.
+     */
+    public InputLatch(UserInputListener source, int... keys) {
+        this.source = source;
+        this.keys = keys.clone();
+        this.listener = UserInputListener.class.cast(Proxy.newProxyInstance(
+                UserInputListener.class.getClassLoader(), new Class<?>[]{UserInputListener.class},
+                (proxy, method, args) -> handleInputCall(method, args)));
+    }
+
+    /**
+     * Answers calls made on the latched listener.
+     *
+     * @param method The invoked method.
+     * @param args   The call arguments.
+     * @return The value returned to the caller.
+     * @throws Throwable Whatever the engine's listener throws.
+     */
+    private Object handleInputCall(Method method, Object[] args) throws Throwable {
+        if (method.getName().equals(IS_KEY_PRESSED) && args != null && args.length == 1) {
+            int keyIndex = indexOf((Integer) args[0]);
+            if (keyIndex >= 0) {
+                return (mask & (1 << keyIndex)) != 0;
+            }
+        }
+        try {
+            return method.invoke(source, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns the index of a tracked key.
+     *
+     * @param keyCode The key code.
+     * @return The key's index, or -1 if the key is not tracked.
+     */
+    private int indexOf(int keyCode) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == keyCode) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the tracked keys from the engine's listener.
+     */
+    public void latch() {
+        int latched = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (source.isKeyPressed(keys[i])) {
+                latched |= 1 << i;
+            }
+        }
+        mask = latched;
+    }
+
+    /**
+     * Returns the latched state of the tracked keys.
+     *
+     * @return A bit mask, the bit of every key at its index in the tracked keys.
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Returns the listener answering from the latched state.
+     *
+     * @return The latched listener.
+     */
+    public UserInputListener getListener() {
+        return listener;
+    }
+}
@@ -0,0 +1,116 @@
+package bricker.util;
+
+/**
+ * A histogram of every recorded sample, in logarithmic buckets.
+ * Each power of two is split into 32 linear buckets, so a percentile is reported within about 3% of the
+ * true value, with a fixed footprint however many samples are recorded. Unlike a RollingHistogram, two
+ * histograms can be merged, which makes it suited for aggregating many runs.
+ */
+public class LogHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final int PERCENT = 100;
+
+    private final long[] counts;
+    private long totalCount;
+    private long max;
+
+    /**
+     * Constructs a new, empty LogHistogram instance.
+     */
+    public LogHistogram() {
+        this.counts = new long[BUCKETS];
+    }
+
+    /**
+     * Returns the bucket of a value.
+     *
+     * @param value The value, not negative.
+     * @return The index of the bucket.
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Returns the smallest value of a bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The bucket's smallest value.
+     */
+    private static long lowestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    }
+
+    /**
+     * Records a sample.
+     *
+     * @param value The sample, typically a duration in nanoseconds. Negative samples count as 0.
+     */
+    public void record(long value) {
+        long sample = Math.max(0, value);
+        counts[bucketOf(sample)]++;
+        totalCount++;
+        max = Math.max(max, sample);
+    }
+
+    /**
+     * Adds every sample of another histogram to this one.
+     *
+     * @param other The other histogram.
+     */
+    public void merge(LogHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns the given percentile of the recorded samples.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The smallest value of the bucket holding the percentile, or 0 if nothing was recorded.
+     */
+    public long percentile(double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(percentile / PERCENT * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return lowestValueOf(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the largest recorded sample.
+     *
+     * @return The maximum, or 0 if nothing was recorded.
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Returns the number of recorded samples.
+     *
+     * @return The number of samples.
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+}
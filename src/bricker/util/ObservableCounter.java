@@ -0,0 +1,108 @@
+package bricker.util;
+
+import danogl.util.Counter;
+
+import java.util.Arrays;
+
+/**
+ * A counter notifying its listeners whenever its value changes, so whatever displays or depends on the
+ * value reacts to changes instead of reading the counter every frame.
+ * Listeners are notified once per change, only when the value actually changed.
+ */
+public class ObservableCounter extends Counter {
+
+    private CounterListener[] listeners;
+    private int lastValue;
+
+    /**
+     * Constructs a new ObservableCounter instance starting at zero.
+     */
+    public ObservableCounter() {
+        this(0);
+    }
+
+    /**
+     * Constructs a new ObservableCounter instance.
+     *
+     * @param initialValue The initial value of the counter.
+     */
+    public ObservableCounter(int initialValue) {
+        super(initialValue);
+        this.listeners = new CounterListener[0];
+        this.lastValue = initialValue;
+    }
+
+    /**
+     * Adds a listener notified of every change of the counter's value.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(CounterListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    /**
+     * Increases the counter by one and notifies the listeners.
+     */
+    @Override
+    public void increment() {
+        super.increment();
+        notifyIfChanged();
+    }
+
+    /**
+     * Decreases the counter by one and notifies the listeners.
+     */
+    @Override
+    public void decrement() {
+        super.decrement();
+        notifyIfChanged();
+    }
+
+    /**
+     * Increases the counter by the given amount and notifies the listeners.
+     *
+     * @param delta The amount to add, possibly negative.
+     */
+    @Override
+    public void increaseBy(int delta) {
+        super.increaseBy(delta);
+        notifyIfChanged();
+    }
+
+    /**
+     * Resets the counter to zero and notifies the listeners.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        notifyIfChanged();
+    }
+
+    /**
+     * Sets the counter to the given value, notifying the listeners once.
+     *
+     * @param value The new value.
+     */
+    public void set(int value) {
+        increaseBy(value - value());
+    }
+
+    /**
+     * Notifies the listeners if the value differs from the one they were last notified of.
+     * Operations implemented on top of each other by the base counter therefore notify only once, and
+     * changes made by the base constructor, before there are listeners, notify no one.
+     */
+    private void notifyIfChanged() {
+        int newValue = value();
+        if (listeners == null || newValue == lastValue) {
+            return;
+        }
+        int oldValue = lastValue;
+        lastValue = newValue;
+        for (CounterListener listener : listeners) {
+            listener.onCounterChanged(oldValue, newValue);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package bricker.util;
+
+import java.util.Arrays;
+
+/**
+ * A rolling window of duration samples, answering percentile and maximum queries.
+ * Recording a sample only writes it into a ring buffer, the sorting work is done when a statistic is
+ * queried, which happens far less often than recording.
+ */
+public class RollingHistogram {
+
+    private static final int PERCENT = 100;
+
+    private final long[] samples;
+    private final long[] sorted;
+    private int size;
+    private int next;
+    private long totalCount;
+
+    /**
+     * Constructs a new RollingHistogram instance.
+     *
+     * @param windowSize The number of most recent samples kept.
+     */
+    public RollingHistogram(int windowSize) {
+        this.samples = new long[windowSize];
+        this.sorted = new long[windowSize];
+    }
+
+    /**
+     * Records a sample, replacing the oldest one when the window is full.
+     *
+     * @param value The sample, typically a duration in nanoseconds.
+     */
+    public void record(long value) {
+        samples[next] = value;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) {
+            size++;
+        }
+        totalCount++;
+    }
+
+    /**
+     * Returns the given percentile of the samples in the window.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The percentile value, or 0 if no sample was recorded.
+     */
+    public long percentile(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        System.arraycopy(samples, 0, sorted, 0, size);
+        Arrays.sort(sorted, 0, size);
+        int rank = (int) Math.ceil(percentile / PERCENT * size) - 1;
+        return sorted[Math.max(0, Math.min(size - 1, rank))];
+    }
+
+    /**
+     * Returns the largest sample in the window.
+     *
+     * @return The maximum, or 0 if no sample was recorded.
+     */
+    public long max() {
+        long max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, samples[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the number of samples recorded since the histogram was created, including the ones that
+     * left the window.
+     *
+     * @return The total number of samples.
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+}
@@ -0,0 +1,152 @@
+package bricker.util;
+
+import danogl.gui.Sound;
+
+import java.util.Arrays;
+
+/**
+ * Mixes the sounds of the game through a fixed pool of voices.
+ * Sounds are requested during a step and played together when the step is mixed: a sound requested by
+ * several objects in the same step is played once, with the highest priority it was requested with. A played
+ * sound holds a voice for a fixed duration; when no voice is free, the sound takes the voice of the oldest
+ * sound of a lower priority, and is dropped if there is none. The number of sounds played is therefore
+ * bounded by the number of voices, whatever the number of objects colliding.
+ */
+public class SoundMixer {
+
+    private static final int INITIAL_REQUESTS = 4;
+
+    private final float voiceDuration;
+    private final float[] voiceEnds;
+    private final int[] voicePriorities;
+    private Sound[] requestedSounds;
+    private int[] requestedPriorities;
+    private int requestCount;
+    private float time;
+    private long playedCount;
+    private long coalescedCount;
+    private long stolenCount;
+    private long droppedCount;
+
+    /**
+     * Constructs a new SoundMixer instance.
+     *
+     * @param voices        The number of sounds that can play at once.
+     * @param voiceDuration The time, in seconds, a played sound holds its voice.
+     */
+    public SoundMixer(int voices, float voiceDuration) {
+        this.voiceDuration = voiceDuration;
+        this.voiceEnds = new float[voices];
+        this.voicePriorities = new int[voices];
+        this.requestedSounds = new Sound[INITIAL_REQUESTS];
+        this.requestedPriorities = new int[INITIAL_REQUESTS];
+    }
+
+    /**
+     * Requests a sound to be played when the current step is mixed.
+     *
+     * @param sound    The sound to play, or null for none.
+     * @param priority The priority of the sound, higher priorities take the voices of lower ones.
+     */
+    public void request(Sound sound, int priority) {
+        if (sound == null) {
+            return;
+        }
+        for (int i = 0; i < requestCount; i++) {
+            if (requestedSounds[i] == sound) {
+                requestedPriorities[i] = Math.max(requestedPriorities[i], priority);
+                coalescedCount++;
+                return;
+            }
+        }
+        if (requestCount == requestedSounds.length) {
+            requestedSounds = Arrays.copyOf(requestedSounds, requestCount * 2);
+            requestedPriorities = Arrays.copyOf(requestedPriorities, requestCount * 2);
+        }
+        requestedSounds[requestCount] = sound;
+        requestedPriorities[requestCount] = priority;
+        requestCount++;
+    }
+
+    /**
+     * Plays the sounds requested during a step, as voices allow, and advances the mixer's clock.
+     *
+     * @param deltaTime The duration of the step, in seconds.
+     */
+    public void mix(float deltaTime) {
+        for (int i = 0; i < requestCount; i++) {
+            int voice = chooseVoice(requestedPriorities[i]);
+            if (voice < 0) {
+                droppedCount++;
+            } else {
+                voiceEnds[voice] = time + voiceDuration;
+                voicePriorities[voice] = requestedPriorities[i];
+                requestedSounds[i].play();
+                playedCount++;
+            }
+            requestedSounds[i] = null;
+        }
+        requestCount = 0;
+        time += deltaTime;
+    }
+
+    /**
+     * Chooses the voice a sound of the given priority plays on: a free voice if any, otherwise the voice
+     * ending first among those playing a sound of a lower priority.
+     *
+     * @param priority The priority of the sound.
+     * @return The index of the voice, or -1 if the sound should be dropped.
+     */
+    private int chooseVoice(int priority) {
+        int stolen = -1;
+        for (int voice = 0; voice < voiceEnds.length; voice++) {
+            if (voiceEnds[voice] <= time) {
+                return voice;
+            }
+            if (voicePriorities[voice] < priority && (stolen < 0 || voiceEnds[voice] < voiceEnds[stolen])) {
+                stolen = voice;
+            }
+        }
+        if (stolen >= 0) {
+            stolenCount++;
+        }
+        return stolen;
+    }
+
+    /**
+     * Returns the number of sounds played.
+     *
+     * @return The number of played sounds.
+     */
+    public long getPlayedCount() {
+        return playedCount;
+    }
+
+    /**
+     * Returns the number of requests merged into a request of the same sound in the same step.
+     *
+     * @return The number of coalesced requests.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Returns the number of sounds that took the voice of a sound of a lower priority.
+     *
+     * @return The number of stolen voices.
+     */
+    public long getStolenCount() {
+        return stolenCount;
+    }
+
+    /**
+     * Returns the number of sounds dropped because every voice played a sound of the same or a higher
+     * priority.
+     *
+     * @return The number of dropped sounds.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+}